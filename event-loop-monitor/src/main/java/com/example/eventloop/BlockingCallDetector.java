@@ -0,0 +1,71 @@
+package com.example.eventloop;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingMethod;
+import reactor.blockhound.BlockingOperationError;
+import reactor.blockhound.integration.BlockHoundIntegration;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Installs BlockHound to catch blocking calls (sleeping, socket and file I/O, waiting on locks, {@code block()}) on
+ * non-blocking threads: the monitored event loops, plus Reactor's parallel scheduler and Netty threads through the
+ * integrations BlockHound loads itself.
+ * <p>
+ * Each call increments {@code eventloop.blocking.calls} tagged with the method, and the first call of each method is
+ * logged with its stack. The call goes through unless {@code fail} is set, in which case it throws BlockHound's
+ * {@link BlockingOperationError} like the default BlockHound setup.
+ */
+public class BlockingCallDetector implements BlockHoundIntegration {
+
+    private static final Logger log = LoggerFactory.getLogger(BlockingCallDetector.class);
+    private static final AtomicBoolean INSTALLED = new AtomicBoolean();
+
+    private final Set<Long> eventLoopThreadIds;
+    private final MeterRegistry registry;
+    private final boolean fail;
+    private final ConcurrentMap<String, Counter> calls = new ConcurrentHashMap<>();
+
+    public BlockingCallDetector(Set<Long> eventLoopThreadIds, MeterRegistry registry, boolean fail) {
+        this.eventLoopThreadIds = eventLoopThreadIds;
+        this.registry = registry;
+        this.fail = fail;
+    }
+
+    /** BlockHound instruments the JVM once, so only the first detector created in it is installed. */
+    public void install() {
+        if (INSTALLED.compareAndSet(false, true)) {
+            BlockHound.install(this);
+        } else {
+            log.info("BlockHound is already installed in this JVM");
+        }
+    }
+
+    @Override
+    public void applyTo(BlockHound.Builder builder) {
+        builder.nonBlockingThreadPredicate(current -> current.or(thread -> eventLoopThreadIds.contains(thread.getId())))
+                .blockingMethodCallback(this::onBlockingCall);
+    }
+
+    private void onBlockingCall(BlockingMethod method) {
+        String name = method.toString();
+        var error = new BlockingOperationError(method);
+        calls.computeIfAbsent(name, key -> {
+            log.warn("Blocking call on non-blocking thread {}", Thread.currentThread().getName(), error);
+            return Counter.builder("eventloop.blocking.calls")
+                    .description("Blocking calls made on non-blocking threads")
+                    .tag("method", key)
+                    .register(registry);
+        }).increment();
+        if (fail) {
+            throw error;
+        }
+    }
+}
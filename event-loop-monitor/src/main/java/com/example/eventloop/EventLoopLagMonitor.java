@@ -0,0 +1,152 @@
+package com.example.eventloop;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import io.netty.util.concurrent.ThreadProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures how long a task waits before each event-loop thread runs it.
+ * <p>
+ * Every {@code probeInterval} a monitor thread submits a probe task to each loop and records the time until it runs
+ * as {@code eventloop.lag}. While a probe is still queued no new one is submitted. If it has waited longer than
+ * {@code stallThreshold}, the loop counts as stalled: {@code eventloop.stalls} is incremented once and the loop's
+ * current stack is logged, which points at the blocking call or slow handler holding it.
+ */
+public class EventLoopLagMonitor implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(EventLoopLagMonitor.class);
+
+    private final Supplier<EventLoopGroup> eventLoops;
+    private final MeterRegistry registry;
+    private final long probeIntervalNanos;
+    private final long stallThresholdNanos;
+    private final Duration maxExpectedLag;
+    private final Set<Long> eventLoopThreadIds = ConcurrentHashMap.newKeySet();
+    private final List<Probe> probes = new ArrayList<>();
+    private final ScheduledExecutorService monitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "eventloop-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public EventLoopLagMonitor(Supplier<EventLoopGroup> eventLoops, MeterRegistry registry,
+                               Duration probeInterval, Duration stallThreshold, Duration maxExpectedLag) {
+        this.eventLoops = eventLoops;
+        this.registry = registry;
+        this.probeIntervalNanos = probeInterval.toNanos();
+        this.stallThresholdNanos = stallThreshold.toNanos();
+        this.maxExpectedLag = maxExpectedLag;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        start();
+    }
+
+    public synchronized void start() {
+        if (!probes.isEmpty()) {
+            return;
+        }
+        int index = 0;
+        for (EventExecutor executor : eventLoops.get()) {
+            probes.add(new Probe(executor, index++));
+        }
+        monitor.scheduleAtFixedRate(this::probe, probeIntervalNanos, probeIntervalNanos, TimeUnit.NANOSECONDS);
+        log.info("Monitoring {} event loops every {} ms", probes.size(), TimeUnit.NANOSECONDS.toMillis(probeIntervalNanos));
+    }
+
+    /** Ids of the monitored event-loop threads, so blocking calls on them can be detected. */
+    public Set<Long> eventLoopThreadIds() {
+        return eventLoopThreadIds;
+    }
+
+    public void stop() {
+        monitor.shutdownNow();
+    }
+
+    private void probe() {
+        long now = System.nanoTime();
+        for (Probe probe : probes) {
+            probe.check(now);
+        }
+    }
+
+    private final class Probe implements Runnable {
+
+        private final EventExecutor executor;
+        private final ThreadProperties thread;
+        private final String name;
+        private final Timer lag;
+        private final Counter stalls;
+
+        private volatile long submittedAt;
+        private boolean stallReported;
+
+        private Probe(EventExecutor executor, int index) {
+            this.executor = executor;
+            this.thread = executor instanceof SingleThreadEventExecutor loop ? loop.threadProperties() : null;
+            this.name = thread == null ? "loop-" + index : thread.name();
+            if (thread != null) {
+                eventLoopThreadIds.add(thread.id());
+            }
+            this.lag = Timer.builder("eventloop.lag")
+                    .description("Time a task waits before the event loop runs it")
+                    .tag("thread", name)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(maxExpectedLag)
+                    .register(registry);
+            this.stalls = Counter.builder("eventloop.stalls")
+                    .description("Times the event loop did not run a task within the stall threshold")
+                    .tag("thread", name)
+                    .register(registry);
+        }
+
+        // Runs on the monitor thread only.
+        void check(long now) {
+            long submitted = submittedAt;
+            if (submitted == 0) {
+                stallReported = false;
+                submittedAt = now;
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // The loop is shutting down with the server.
+                }
+                return;
+            }
+            long waiting = now - submitted;
+            if (waiting >= stallThresholdNanos && !stallReported) {
+                stallReported = true;
+                stalls.increment();
+                var stack = thread == null ? new StackTraceElement[0] : thread.stackTrace();
+                log.warn("Event loop stalled", new EventLoopStallException(name, TimeUnit.NANOSECONDS.toMillis(waiting), stack));
+            }
+        }
+
+        // Runs on the event loop.
+        @Override
+        public void run() {
+            lag.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+            submittedAt = 0;
+        }
+    }
+}
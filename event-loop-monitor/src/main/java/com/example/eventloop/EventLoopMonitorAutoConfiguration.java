@@ -0,0 +1,53 @@
+package com.example.eventloop;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorResourceFactory;
+import reactor.netty.http.HttpResources;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * Enabled with {@code eventloop.monitor.enabled=true}. Watches the loops the Reactor Netty server runs on: the ones of
+ * Boot's {@link ReactorResourceFactory}, or the global {@link HttpResources} without it.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass(LoopResources.class)
+@ConditionalOnProperty(prefix = "eventloop.monitor", name = "enabled", havingValue = "true")
+public class EventLoopMonitorAutoConfiguration {
+
+    @Bean(destroyMethod = "stop")
+    public EventLoopLagMonitor eventLoopLagMonitor(ObjectProvider<ReactorResourceFactory> resourceFactory,
+                                                   ObjectProvider<MeterRegistry> meterRegistry,
+                                                   @Value("${eventloop.monitor.probe-interval:PT0.1S}") Duration probeInterval,
+                                                   @Value("${eventloop.monitor.stall-threshold:PT0.5S}") Duration stallThreshold,
+                                                   @Value("${eventloop.monitor.max-expected-lag:PT10S}") Duration maxExpectedLag) {
+        return new EventLoopLagMonitor(
+                () -> loopResources(resourceFactory).onServer(LoopResources.DEFAULT_NATIVE),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry),
+                probeInterval, stallThreshold, maxExpectedLag);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "eventloop.monitor.blocking", name = "enabled", havingValue = "true")
+    public BlockingCallDetector blockingCallDetector(EventLoopLagMonitor eventLoopLagMonitor,
+                                                     ObjectProvider<MeterRegistry> meterRegistry,
+                                                     @Value("${eventloop.monitor.blocking.fail:false}") boolean fail) {
+        var detector = new BlockingCallDetector(eventLoopLagMonitor.eventLoopThreadIds(),
+                meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), fail);
+        detector.install();
+        return detector;
+    }
+
+    private static LoopResources loopResources(ObjectProvider<ReactorResourceFactory> resourceFactory) {
+        var factory = resourceFactory.getIfAvailable();
+        return factory == null ? HttpResources.get() : factory.getLoopResources();
+    }
+}
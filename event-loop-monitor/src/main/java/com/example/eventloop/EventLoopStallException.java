@@ -0,0 +1,12 @@
+package com.example.eventloop;
+
+/**
+ * Carries the stack of an event-loop thread that has not picked up a task in time. It is only logged, never thrown.
+ */
+public class EventLoopStallException extends RuntimeException {
+
+    public EventLoopStallException(String thread, long stalledMillis, StackTraceElement[] stackTrace) {
+        super(thread + " has not run a task for " + stalledMillis + " ms", null, false, true);
+        setStackTrace(stackTrace);
+    }
+}
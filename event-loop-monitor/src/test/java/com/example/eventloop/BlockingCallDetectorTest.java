@@ -0,0 +1,40 @@
+package com.example.eventloop;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BlockingCallDetectorTest {
+
+    private final NioEventLoopGroup group = new NioEventLoopGroup(1);
+
+    @AfterEach
+    void tearDown() {
+        group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void countOnlyModeCountsBlockingCallsAndLetsThemThrough() throws Exception {
+        var loop = (SingleThreadEventExecutor) group.next();
+        var registry = new SimpleMeterRegistry();
+        new BlockingCallDetector(Set.of(loop.threadProperties().id()), registry, false).install();
+
+        var slept = loop.submit(() -> {
+            Thread.sleep(1);
+            Thread.sleep(1);
+            return true;
+        });
+
+        assertEquals(true, slept.get(10, TimeUnit.SECONDS));
+        var calls = registry.get("eventloop.blocking.calls").counter();
+        assertEquals(2, calls.count());
+        assertEquals("java.lang.Thread.sleep", calls.getId().getTag("method"));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.eventloop;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventLoopLagMonitorTest {
+
+    private static final Duration STALL_THRESHOLD = Duration.ofMillis(200);
+
+    private final NioEventLoopGroup group = new NioEventLoopGroup(1);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final EventLoopLagMonitor monitor = new EventLoopLagMonitor(() -> group, registry,
+            Duration.ofMillis(20), STALL_THRESHOLD, Duration.ofSeconds(10));
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+        group.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void blockedLoopCountsOneStallAndRecordsItsLag() throws InterruptedException {
+        monitor.start();
+        awaitTrue(() -> registry.get("eventloop.lag").timer().count() > 0);
+
+        var release = new CountDownLatch(1);
+        group.next().execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        awaitTrue(() -> registry.get("eventloop.stalls").counter().count() == 1);
+        // Stays blocked past several more probe intervals, still one stall.
+        Thread.sleep(3 * STALL_THRESHOLD.toMillis());
+        release.countDown();
+
+        var lag = registry.get("eventloop.lag").timer();
+        awaitTrue(() -> lag.max(TimeUnit.MILLISECONDS) >= STALL_THRESHOLD.toMillis());
+        assertEquals(1, registry.get("eventloop.stalls").counter().count());
+        assertEquals(1, monitor.eventLoopThreadIds().size());
+    }
+
+    static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 10s");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.reactivedata.benchmark;
+
+import com.example.reactivedata.Movie;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of the {@code name().tag().metrics()} instrumentation used by {@code FluxFlixService}, per call of a
+ * {@code Flux} of {@code movies} elements, with no registry and with a Prometheus registry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FluxMetricsBenchmark {
+
+    @Param({"1", "100"})
+    public int movies;
+
+    @Param({"none", "prometheus"})
+    public String registry;
+
+    private List<Movie> catalog;
+    private PrometheusMeterRegistry prometheus;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = IntStream.range(0, movies)
+                .mapToObj(i -> new Movie("movie-" + i, "Movie " + i, "drama"))
+                .toList();
+        if (registry.equals("prometheus")) {
+            prometheus = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+            Metrics.addRegistry(prometheus);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (prometheus != null) {
+            Metrics.removeRegistry(prometheus);
+            prometheus.close();
+        }
+    }
+
+    @Benchmark
+    public long plain() {
+        return Flux.fromIterable(catalog)
+                .count()
+                .block();
+    }
+
+    @Benchmark
+    public long metered() {
+        return Flux.fromIterable(catalog)
+                .name("fluxflix.movies")
+                .tag("operation", "find-all")
+                .metrics()
+                .count()
+                .block();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.reactivedata.benchmark;
+
+import com.example.reactivedata.FluxFlixService;
+import com.example.reactivedata.Movie;
+import com.example.reactivedata.MovieEvent;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+import static org.springframework.web.reactive.function.server.ServerResponse.ok;
+
+final class FunctionalRoutes {
+
+    private FunctionalRoutes() {
+    }
+
+    // Same routes as ReactiveDataApplication.routes(FluxFlixService) in functional-reactive-endpoints.
+    static RouterFunction<ServerResponse> routes(FluxFlixService service) {
+        return route(GET("/movies"),
+                request -> ok().body(service.findAll(), Movie.class))
+
+                .andRoute(GET("/movies/{id}"),
+                        request -> ok().body(service.findById(request.pathVariable("id")), Movie.class))
+
+                .andRoute(GET("/movies/{id}/events"),
+                        request -> ok().contentType(MediaType.TEXT_EVENT_STREAM)
+                                .body(service.findById(request.pathVariable("id")).flatMapMany(service::streamStreams),
+                                        MovieEvent.class));
+    }
+}
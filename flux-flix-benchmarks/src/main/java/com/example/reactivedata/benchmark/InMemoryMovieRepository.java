@@ -0,0 +1,44 @@
+package com.example.reactivedata.benchmark;
+
+import com.example.reactivedata.Movie;
+import com.example.reactivedata.MovieRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class InMemoryMovieRepository {
+
+    private InMemoryMovieRepository() {
+    }
+
+    static MovieRepository of(List<Movie> movies) {
+        Map<String, Movie> byId = new LinkedHashMap<>();
+        movies.forEach(movie -> byId.put(movie.id(), movie));
+
+        return (MovieRepository) Proxy.newProxyInstance(
+                MovieRepository.class.getClassLoader(),
+                new Class<?>[] {MovieRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> {
+                        if (args != null) {
+                            throw new UnsupportedOperationException(method.toString());
+                        }
+                        yield Flux.fromIterable(byId.values());
+                    }
+                    case "findById" -> {
+                        if (!(args[0] instanceof String id)) {
+                            throw new UnsupportedOperationException(method.toString());
+                        }
+                        yield Mono.justOrEmpty(byId.get(id));
+                    }
+                    case "toString" -> "InMemoryMovieRepository" + byId.keySet();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.toString());
+                });
+    }
+}
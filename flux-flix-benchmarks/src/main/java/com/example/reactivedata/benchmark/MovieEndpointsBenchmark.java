@@ -0,0 +1,189 @@
+package com.example.reactivedata.benchmark;
+
+import com.example.reactivedata.FluxFlixService;
+import com.example.reactivedata.Movie;
+import com.example.reactivedata.MovieCache;
+import com.example.reactivedata.MovieEventConflation;
+import com.example.reactivedata.MovieEventEncoder;
+import com.example.reactivedata.MovieEventHub;
+import com.example.reactivedata.MovieEventReplay;
+import com.example.reactivedata.MovieRepository;
+import com.example.reactivedata.MovieRestController;
+import com.example.reactivedata.MovieTitleIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovieEndpointsBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Param({"100"})
+    public int movies;
+
+    @Param({"10"})
+    public int events;
+
+    private AnnotationConfigApplicationContext annotatedContext;
+    private AnnotationConfigApplicationContext functionalContext;
+    private HttpHandler annotated;
+    private HttpHandler functional;
+    private String movieId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var catalog = IntStream.range(0, movies)
+                .mapToObj(i -> new Movie("movie-" + i, "Movie " + i, "drama"))
+                .toList();
+        movieId = catalog.get(catalog.size() / 2).id();
+
+        annotatedContext = context(catalog, MovieRestController.class, WebFluxConfiguration.class);
+        annotated = WebHttpHandlerBuilder.applicationContext(annotatedContext).build();
+
+        functionalContext = context(catalog);
+        functional = RouterFunctions.toHttpHandler(FunctionalRoutes.routes(functionalContext.getBean(FluxFlixService.class)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        annotatedContext.close();
+        functionalContext.close();
+    }
+
+    @Benchmark
+    public int annotatedFindAll() {
+        return exchange(annotated, "/movies", MediaType.APPLICATION_JSON);
+    }
+
+    @Benchmark
+    public int functionalFindAll() {
+        return exchange(functional, "/movies", MediaType.APPLICATION_JSON);
+    }
+
+    @Benchmark
+    public int annotatedFindById() {
+        return exchange(annotated, "/movies/" + movieId, MediaType.APPLICATION_JSON);
+    }
+
+    @Benchmark
+    public int functionalFindById() {
+        return exchange(functional, "/movies/" + movieId, MediaType.APPLICATION_JSON);
+    }
+
+    @Benchmark
+    public int annotatedEvents() {
+        return exchange(annotated, "/movies/" + movieId + "/events", MediaType.TEXT_EVENT_STREAM);
+    }
+
+    @Benchmark
+    public int functionalEvents() {
+        return exchange(functional, "/movies/" + movieId + "/events", MediaType.TEXT_EVENT_STREAM);
+    }
+
+    private int exchange(HttpHandler handler, String path, MediaType accept) {
+        var request = MockServerHttpRequest.get(path).accept(accept).build();
+        var response = new MockServerHttpResponse();
+        var bytes = new AtomicInteger();
+
+        response.setWriteHandler(body -> {
+            if (!MediaType.TEXT_EVENT_STREAM.isCompatibleWith(accept)) {
+                return Flux.from(body).doOnNext(buffer -> bytes.addAndGet(release(buffer))).then();
+            }
+            var frames = new FrameCounter();
+            return Flux.from(body)
+                    .takeUntil(buffer -> {
+                        bytes.addAndGet(buffer.readableByteCount());
+                        return frames.count(buffer) >= events;
+                    })
+                    .then();
+        });
+
+        handler.handle(request, response).block(TIMEOUT);
+        return bytes.get();
+    }
+
+    private static int release(DataBuffer buffer) {
+        int count = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return count;
+    }
+
+    // An SSE frame ends with an empty line; the terminator may span buffers.
+    private static final class FrameCounter {
+
+        private int frames;
+        private byte previous;
+
+        int count(DataBuffer buffer) {
+            try {
+                for (int i = buffer.readPosition(); i < buffer.writePosition(); i++) {
+                    byte current = buffer.getByte(i);
+                    if (current == '\n' && previous == '\n') {
+                        frames++;
+                    }
+                    previous = current;
+                }
+                return frames;
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+
+    private static AnnotationConfigApplicationContext context(List<Movie> catalog, Class<?>... components) {
+        var context = new AnnotationConfigApplicationContext();
+        context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark",
+                Map.of("fluxflix.events.period", "PT0.00001S")));
+        context.registerBean(MovieRepository.class, () -> InMemoryMovieRepository.of(catalog));
+        context.registerBean(ObjectMapper.class, () -> new ObjectMapper());
+        context.register(MovieEventHub.class, MovieCache.class, MovieEventReplay.class, MovieEventEncoder.class,
+                MovieEventConflation.class, MovieTitleIndex.class, FluxFlixService.class);
+        if (components.length > 0) {
+            context.register(components);
+        }
+        context.refresh();
+        return context;
+    }
+
+    @EnableWebFlux
+    static class WebFluxConfiguration {
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.reactivedata.benchmark;
+
+import com.example.reactivedata.Movie;
+import com.example.reactivedata.MovieEvent;
+import com.example.reactivedata.MovieEventEncoder;
+import com.example.reactivedata.SequencedMovieEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.codec.ServerSentEventHttpMessageWriter;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovieEventEncodingBenchmark {
+
+    private static final ResolvableType SSE_TYPE =
+            ResolvableType.forClassWithGenerics(ServerSentEvent.class, MovieEvent.class);
+    private static final String[] USERS = "John, Phillip, Maycon, Wilson, Maria, Johnson".split(",");
+
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    private Movie movie;
+    private SequencedMovieEvent event;
+    private ServerSentEventHttpMessageWriter writer;
+    private CountingOutputMessage output;
+    private MovieEventEncoder encoder;
+
+    @Setup
+    public void setUp() {
+        // Boot's ObjectMapper writes dates as ISO-8601 strings.
+        var objectMapper = new ObjectMapper().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        movie = new Movie("61e5c0a1f2b3c4d5e6f7a8b9", "The Silence of the Lambdas", "horror");
+        event = new SequencedMovieEvent(1_642_500_000_000_000L, new MovieEvent(movie, new Date(), "Maria"));
+        writer = new ServerSentEventHttpMessageWriter(new Jackson2JsonEncoder(objectMapper));
+        output = new CountingOutputMessage(bufferFactory);
+        encoder = new MovieEventEncoder(objectMapper, 1000);
+    }
+
+    @Benchmark
+    public int jackson() {
+        var sse = ServerSentEvent.builder(event.event())
+                .id(Long.toString(event.id()))
+                .build();
+        writer.write(Mono.just(sse), SSE_TYPE, MediaType.TEXT_EVENT_STREAM, output, Map.of()).block();
+        return output.reset();
+    }
+
+    @Benchmark
+    public int preSerialized() {
+        var buffer = encoder.encode(event, bufferFactory);
+        int bytes = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+
+    @Benchmark
+    public MovieEvent legacyEvent() {
+        String[] users = "John, Phillip, Maycon, Wilson, Maria, Johnson".split(",");
+        return new MovieEvent(movie, new Date(), users[new Random().nextInt(users.length)]);
+    }
+
+    @Benchmark
+    public MovieEvent event() {
+        return new MovieEvent(movie, new Date(), USERS[ThreadLocalRandom.current().nextInt(USERS.length)]);
+    }
+
+    private static final class CountingOutputMessage implements ReactiveHttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final DataBufferFactory bufferFactory;
+        private int bytes;
+
+        private CountingOutputMessage(DataBufferFactory bufferFactory) {
+            this.bufferFactory = bufferFactory;
+        }
+
+        int reset() {
+            int written = bytes;
+            bytes = 0;
+            return written;
+        }
+
+        @Override
+        public DataBufferFactory bufferFactory() {
+            return bufferFactory;
+        }
+
+        @Override
+        public void beforeCommit(Supplier<? extends Mono<Void>> action) {
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return false;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return Flux.from(body)
+                    .doOnNext(buffer -> {
+                        bytes += buffer.readableByteCount();
+                        DataBufferUtils.release(buffer);
+                    })
+                    .then();
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return writeWith(Flux.from(body).concatMap(Flux::from));
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            return Mono.empty();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
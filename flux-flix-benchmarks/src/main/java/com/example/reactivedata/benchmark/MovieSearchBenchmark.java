@@ -0,0 +1,86 @@
+package com.example.reactivedata.benchmark;
+
+import com.example.reactivedata.Movie;
+import com.example.reactivedata.MovieTitleIndex;
+import com.mongodb.ConnectionString;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares {@link MovieTitleIndex} with a case-insensitive Mongo regex query on {@code title}. Both read the
+ * {@code movie} collection of {@code -Dmongo.uri} (mongodb://localhost/test by default), which should hold 1M
+ * movies, e.g. seeded by reactive-data with {@code --catalog.seed.scale=1}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class MovieSearchBenchmark {
+
+    @Param({"flux", "99999", "lazy sink 4242"})
+    public String query;
+
+    @Param({"false", "true"})
+    public boolean prefix;
+
+    @Param({"20"})
+    public int limit;
+
+    private MongoClient client;
+    private ReactiveMongoTemplate template;
+    private MovieTitleIndex index;
+    private Query mongoQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var uri = new ConnectionString(System.getProperty("mongo.uri", "mongodb://localhost/test"));
+        client = MongoClients.create(uri);
+        template = new ReactiveMongoTemplate(client, uri.getDatabase() == null ? "test" : uri.getDatabase());
+
+        index = new MovieTitleIndex();
+        long start = System.nanoTime();
+        var movies = template.findAll(Movie.class).collectList().block();
+        index.replaceAll(movies);
+        System.out.printf("%nIndexed %d titles in %d ms%n", index.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        var regex = (prefix ? "^" : "") + Pattern.quote(query);
+        mongoQuery = Query.query(Criteria.where("title").regex(regex, "i")).limit(limit);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public int index() {
+        return index.search(query, prefix, limit).size();
+    }
+
+    @Benchmark
+    public int mongoRegex() {
+        return template.find(mongoQuery, Movie.class).collectList().block().size();
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.reactivedata.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Starts flux-flix-service or functional-reactive-endpoints in a new JVM several times per mode and measures:
+ * <ul>
+ * <li>{@code started}: the time Spring Boot logs in "Started ... in N seconds", which excludes JVM startup;</li>
+ * <li>{@code ready}: the wall-clock time from launching the process until that line is printed;</li>
+ * <li>{@code first request}: the latency of the first {@code GET} sent once the service is ready. With lazy
+ * initialization this is where the beans skipped at startup are created.</li>
+ * </ul>
+ * Modes are {@code default} ({@code ReactiveDataApplication}), {@code fast} ({@code FastStartupApplication}) and
+ * {@code fast+cds} (the same, with the AppCDS archive). Runs are interleaved so that a noisy machine affects every
+ * mode alike. The service must have been built with {@code mvn -Pfast-startup package}. MongoDB is expected on the
+ * default URI or on {@code -Dmongo.uri}.
+ */
+public class StartupHarness {
+
+    private static final String MAIN = "com.example.reactivedata.ReactiveDataApplication";
+    private static final String FAST_MAIN = "com.example.reactivedata.FastStartupApplication";
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+    private static final long TIMEOUT_SECONDS = 120;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: StartupHarness <service directory> [runs] [path]");
+            System.exit(1);
+        }
+        Path target = Path.of(args[0]).resolve("target").toRealPath();
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        String path = args.length > 2 ? args[2] : "/movies";
+        String classpath = classpath(target);
+        Path archive = target.resolve("app-cds.jsa");
+
+        var modes = new ArrayList<Mode>();
+        modes.add(new Mode("default", List.of(), MAIN));
+        modes.add(new Mode("fast", List.of(), FAST_MAIN));
+        if (Files.exists(archive)) {
+            modes.add(new Mode("fast+cds", List.of("-XX:SharedArchiveFile=" + archive), FAST_MAIN));
+        } else {
+            System.out.println("No " + archive + ", skipping the fast+cds mode");
+        }
+
+        var http = HttpClient.newHttpClient();
+        var samples = new LinkedHashMap<String, List<Sample>>();
+        System.out.printf("%-10s %4s %13s %11s %19s %7s%n", "Mode", "Run", "Started (ms)", "Ready (ms)", "First request (ms)", "Status");
+        for (int run = 1; run <= runs; run++) {
+            for (Mode mode : modes) {
+                var sample = measure(mode, classpath, path, http);
+                samples.computeIfAbsent(mode.name(), name -> new ArrayList<>()).add(sample);
+                System.out.printf("%-10s %4d %13d %11d %19d %7d%n",
+                        mode.name(), run, sample.startedMillis(), sample.readyMillis(), sample.firstRequestMillis(), sample.status());
+            }
+        }
+
+        System.out.printf("%nMedians over %d runs%n%-10s %13s %11s %19s %22s%n",
+                runs, "Mode", "Started (ms)", "Ready (ms)", "First request (ms)", "Ready + request (ms)");
+        samples.forEach((mode, results) -> System.out.printf("%-10s %13d %11d %19d %22d%n",
+                mode,
+                median(results, Sample::startedMillis),
+                median(results, Sample::readyMillis),
+                median(results, Sample::firstRequestMillis),
+                median(results, sample -> sample.readyMillis() + sample.firstRequestMillis())));
+    }
+
+    private static Sample measure(Mode mode, String classpath, String path, HttpClient http) throws Exception {
+        int port = freePort();
+        var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(mode.jvmArgs());
+        command.addAll(List.of("-cp", classpath, mode.mainClass(),
+                "--server.port=" + port,
+                "--spring.rsocket.server.port=0"));
+        String mongoUri = System.getProperty("mongo.uri");
+        if (mongoUri != null) {
+            command.add("--spring.data.mongodb.uri=" + mongoUri);
+        }
+
+        long launched = System.nanoTime();
+        var process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try {
+            var started = new CompletableFuture<Long>();
+            var output = new Thread(() -> readOutput(process, started), "startup-output");
+            output.setDaemon(true);
+            output.start();
+
+            long startedMillis = started.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            long readyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launched);
+
+            var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .timeout(Duration.ofSeconds(TIMEOUT_SECONDS))
+                    .build();
+            long sent = System.nanoTime();
+            var response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            long firstRequestMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent);
+
+            return new Sample(startedMillis, readyMillis, firstRequestMillis, response.statusCode());
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static void readOutput(Process process, CompletableFuture<Long> started) {
+        var lastLines = new ArrayList<String>();
+        try (var reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                var matcher = STARTED.matcher(line);
+                if (matcher.find()) {
+                    started.complete(Math.round(Double.parseDouble(matcher.group(1)) * 1000));
+                }
+                if (!started.isDone()) {
+                    lastLines.add(line);
+                    if (lastLines.size() > 20) {
+                        lastLines.remove(0);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            started.completeExceptionally(e);
+        }
+        started.completeExceptionally(new IllegalStateException(
+                "The service exited before it started:\n" + String.join("\n", lastLines)));
+    }
+
+    // The jar and classpath.txt written by the fast-startup profile, in the order the AppCDS archive was recorded with.
+    private static String classpath(Path target) throws IOException {
+        Path dependencies = target.resolve("classpath.txt");
+        if (!Files.exists(dependencies)) {
+            throw new IllegalStateException("No " + dependencies + ", build the service with mvn -Pfast-startup package");
+        }
+        try (Stream<Path> files = Files.list(target)) {
+            Path jar = files
+                    .filter(file -> file.toString().endsWith(".jar") && !file.toString().endsWith("-exec.jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No application jar in " + target));
+            return jar + System.getProperty("path.separator") + Files.readString(dependencies).trim();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(List<Sample> samples, ToLongFunction<Sample> value) {
+        long[] sorted = samples.stream().mapToLong(value).sorted().toArray();
+        return sorted[sorted.length / 2];
+    }
+
+    private record Mode(String name, List<String> jvmArgs, String mainClass) {
+    }
+
+    private record Sample(long startedMillis, long readyMillis, long firstRequestMillis, int status) {
+    }
+}
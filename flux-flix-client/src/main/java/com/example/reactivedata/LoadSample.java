@@ -0,0 +1,39 @@
+package com.example.reactivedata;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Instant;
+
+public record LoadSample(String scope, Instant at, long activeStreams, long connectionErrors, long events,
+                         double eventsPerSecond, long lagP50Millis, long lagP99Millis, long lagP999Millis,
+                         long lagMaxMillis) {
+
+    static final String CSV_HEADER = "scope,at,activeStreams,connectionErrors,events,eventsPerSecond,lagP50Millis,lagP99Millis,lagP999Millis,lagMaxMillis";
+
+    static LoadSample of(String scope, long activeStreams, long connectionErrors, long elapsedNanos, Histogram lags) {
+        return new LoadSample(scope,
+                Instant.now(),
+                activeStreams,
+                connectionErrors,
+                lags.getTotalCount(),
+                lags.getTotalCount() / (elapsedNanos / 1_000_000_000.0),
+                lags.getValueAtPercentile(50.0),
+                lags.getValueAtPercentile(99.0),
+                lags.getValueAtPercentile(99.9),
+                lags.getMaxValue());
+    }
+
+    String toCsv() {
+        return String.join(",",
+                scope,
+                at.toString(),
+                Long.toString(activeStreams),
+                Long.toString(connectionErrors),
+                Long.toString(events),
+                String.format("%.1f", eventsPerSecond),
+                Long.toString(lagP50Millis),
+                Long.toString(lagP99Millis),
+                Long.toString(lagP999Millis),
+                Long.toString(lagMaxMillis));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.reactivedata;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+public class MovieEventConsumer {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<MovieEvent>> MOVIE_EVENTS =
+            new ParameterizedTypeReference<>() { };
+
+    private final WebClient client;
+    private final int concurrency;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+    private final double jitter;
+    private final int searchLimit;
+
+    private final AtomicInteger activeStreams = new AtomicInteger();
+    private final AtomicLong reconnects = new AtomicLong();
+
+    public MovieEventConsumer(@Value("${consumer.base-url:http://localhost:8080}") String baseUrl,
+                              @Value("${consumer.concurrency:64}") int concurrency,
+                              @Value("${consumer.min-backoff:PT0.5S}") Duration minBackoff,
+                              @Value("${consumer.max-backoff:PT30S}") Duration maxBackoff,
+                              @Value("${consumer.jitter:0.5}") double jitter,
+                              @Value("${consumer.search-limit:100}") int searchLimit) {
+        this.client = WebClient.create(baseUrl);
+        this.concurrency = concurrency;
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+        this.jitter = jitter;
+        this.searchLimit = searchLimit;
+    }
+
+    public Flux<MovieEvent> consume(String titleQuery) {
+        return client.get()
+                .uri(uri -> uri.path("/movies/search")
+                        .queryParam("q", titleQuery)
+                        .queryParam("limit", searchLimit)
+                        .build())
+                .retrieve()
+                .bodyToFlux(Movie.class)
+                .flatMap(this::events, concurrency);
+    }
+
+    public Flux<MovieEvent> events(Movie movie) {
+        var lastEventId = new AtomicReference<String>();
+
+        return Flux.defer(() -> client.get()
+                        .uri("/movies/{id}/events", movie.id())
+                        .headers(headers -> {
+                            if (lastEventId.get() != null) {
+                                headers.set("Last-Event-ID", lastEventId.get());
+                            }
+                        })
+                        .retrieve()
+                        .bodyToFlux(MOVIE_EVENTS)
+                        .doOnSubscribe(subscription -> activeStreams.incrementAndGet())
+                        .doFinally(signal -> activeStreams.decrementAndGet())
+                        .concatWith(Flux.error(() -> new IllegalStateException("Event stream for movie " + movie.id() + " closed"))))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, minBackoff)
+                        .maxBackoff(maxBackoff)
+                        .jitter(jitter)
+                        .filter(MovieEventConsumer::isRetryable)
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> reconnects.incrementAndGet()))
+                .doOnNext(event -> {
+                    if (event.id() != null) {
+                        lastEventId.set(event.id());
+                    }
+                })
+                .<MovieEvent>handle((event, sink) -> {
+                    if (event.data() != null) {
+                        sink.next(event.data());
+                    }
+                });
+    }
+
+    // A 4xx answer (an unknown movie, a bad request) will not change on reconnect, so it ends the stream.
+    // 408 and 429 are the exceptions: the server asks the client to come back later.
+    private static boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError()) {
+            return response.getStatusCode() == HttpStatus.REQUEST_TIMEOUT
+                    || response.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS;
+        }
+        return true;
+    }
+
+    public int activeStreams() {
+        return activeStreams.get();
+    }
+
+    public long reconnects() {
+        return reconnects.get();
+    }
+}
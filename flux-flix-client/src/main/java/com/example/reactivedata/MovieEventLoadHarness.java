@@ -0,0 +1,243 @@
+package com.example.reactivedata;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@ConditionalOnProperty(prefix = "load", name = "subscriptions")
+public class MovieEventLoadHarness {
+
+    private static final long HIGHEST_TRACKABLE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<RSocketRequester.Builder> requesterBuilder;
+    private final String baseUrl;
+    private final int subscriptions;
+    private final int connectRate;
+    private final Duration duration;
+    private final Duration reportInterval;
+    private final String output;
+    private final String transport;
+    private final Duration consumerDelay;
+    private final String rsocketHost;
+    private final int rsocketPort;
+    private final int rsocketConnections;
+    private final String serverMetricsUrl;
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MILLIS, 3);
+    private final AtomicLong activeStreams = new AtomicLong();
+    private final AtomicLong connectionErrors = new AtomicLong();
+
+    public MovieEventLoadHarness(ObjectMapper objectMapper,
+                                 ObjectProvider<RSocketRequester.Builder> requesterBuilder,
+                                 @Value("${load.base-url:http://localhost:8080}") String baseUrl,
+                                 @Value("${load.subscriptions}") int subscriptions,
+                                 @Value("${load.connect-rate:200}") int connectRate,
+                                 @Value("${load.duration:PT60S}") Duration duration,
+                                 @Value("${load.report-interval:PT5S}") Duration reportInterval,
+                                 @Value("${load.output:}") String output,
+                                 @Value("${load.transport:http}") String transport,
+                                 @Value("${load.consumer-delay:PT0S}") Duration consumerDelay,
+                                 @Value("${load.rsocket-host:localhost}") String rsocketHost,
+                                 @Value("${load.rsocket-port:7000}") int rsocketPort,
+                                 @Value("${load.rsocket-connections:1}") int rsocketConnections,
+                                 @Value("${load.server-metrics-url:}") String serverMetricsUrl) {
+        this.objectMapper = objectMapper;
+        this.requesterBuilder = requesterBuilder;
+        this.baseUrl = baseUrl;
+        this.subscriptions = subscriptions;
+        this.connectRate = connectRate;
+        this.duration = duration;
+        this.reportInterval = reportInterval;
+        this.output = output;
+        this.transport = transport;
+        this.consumerDelay = consumerDelay;
+        this.rsocketHost = rsocketHost;
+        this.rsocketPort = rsocketPort;
+        this.rsocketConnections = rsocketConnections;
+        this.serverMetricsUrl = serverMetricsUrl.isBlank() ? baseUrl + "/actuator/prometheus" : serverMetricsUrl;
+    }
+
+    public LoadReport run() {
+        var provider = ConnectionProvider.builder("flux-flix-load")
+                .maxConnections(subscriptions + 1)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(Duration.ofSeconds(30))
+                .build();
+        var client = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(provider).keepAlive(true)))
+                .build();
+        var requesters = new ArrayList<RSocketRequester>();
+
+        try {
+            var movies = client.get()
+                    .uri("/movies")
+                    .retrieve()
+                    .bodyToFlux(Movie.class)
+                    .collectList()
+                    .block(Duration.ofSeconds(30));
+            if (movies == null || movies.isEmpty()) {
+                throw new IllegalStateException("No movies available at " + baseUrl + "/movies");
+            }
+            StreamOpener streams;
+            if (transport.equalsIgnoreCase("rsocket")) {
+                for (int i = 0; i < rsocketConnections; i++) {
+                    requesters.add(requesterBuilder.getObject().tcp(rsocketHost, rsocketPort));
+                }
+                streams = (i, movie) -> requesters.get((int) (i % requesters.size()))
+                        .route("movies.{id}.events", movie.id())
+                        .retrieveFlux(MovieEvent.class);
+            } else {
+                streams = (i, movie) -> client.get()
+                        .uri("/movies/{id}/events", movie.id())
+                        .retrieve()
+                        .bodyToFlux(MovieEvent.class);
+            }
+            return run(client, movies, streams);
+        } finally {
+            requesters.forEach(RSocketRequester::dispose);
+            provider.dispose();
+        }
+    }
+
+    private LoadReport run(WebClient client, List<Movie> movies, StreamOpener streams) {
+        var rampUp = Duration.ofNanos(TimeUnit.SECONDS.toNanos(1) * subscriptions / connectRate);
+        var stop = Mono.delay(rampUp.plus(duration)).cache();
+        var total = new Histogram(HIGHEST_TRACKABLE_MILLIS, 3);
+
+        long serverBytesBefore = serverMemory(client).block();
+        var serverBytesLoaded = Mono.delay(rampUp.plus(duration.dividedBy(2)))
+                .flatMap(tick -> serverMemory(client))
+                .toFuture();
+        long start = System.nanoTime();
+
+        // Samples are collected by the interval itself, so nothing else touches the list or the total histogram
+        // until the interval has completed.
+        var progress = Flux.interval(reportInterval)
+                .takeUntilOther(stop)
+                .map(tick -> {
+                    var interval = recorder.getIntervalHistogram();
+                    total.add(interval);
+                    return LoadSample.of("interval", activeStreams.get(), connectionErrors.get(),
+                            reportInterval.toNanos(), interval);
+                })
+                .doOnNext(System.out::println)
+                .collectList()
+                .toFuture();
+
+        Flux.interval(Duration.ofNanos(TimeUnit.SECONDS.toNanos(1) / connectRate))
+                .onBackpressureDrop()
+                .take(subscriptions)
+                .flatMap(i -> subscribe(streams.open(i, movies.get((int) (i % movies.size()))), stop), subscriptions)
+                .then()
+                .block();
+
+        var samples = progress.join();
+        total.add(recorder.getIntervalHistogram());
+
+        var report = new LoadReport(transport, subscriptions, consumerDelay, samples,
+                LoadSample.of("total", activeStreams.get(), connectionErrors.get(), System.nanoTime() - start, total),
+                serverBytesBefore, serverBytesLoaded.getNow(-1L));
+        write(report);
+        return report;
+    }
+
+    private Mono<Void> subscribe(Flux<MovieEvent> events, Mono<Long> stop) {
+        return events
+                .transform(this::consume)
+                .doOnSubscribe(subscription -> activeStreams.incrementAndGet())
+                .doFinally(signal -> activeStreams.decrementAndGet())
+                .doOnNext(event -> recorder.recordValue(
+                        Math.max(0, Math.min(System.currentTimeMillis() - event.when().getTime(), HIGHEST_TRACKABLE_MILLIS))))
+                .takeUntilOther(stop)
+                .onErrorResume(error -> {
+                    connectionErrors.incrementAndGet();
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    // A slow consumer handles one event at a time and only then asks for the next one.
+    private Flux<MovieEvent> consume(Flux<MovieEvent> events) {
+        if (consumerDelay.isZero()) {
+            return events;
+        }
+        return events.concatMap(event -> Mono.delay(consumerDelay).thenReturn(event), 1);
+    }
+
+    // Heap plus direct buffers in use by the server, from its Prometheus endpoint, or -1 when not available.
+    private Mono<Long> serverMemory(WebClient client) {
+        return client.get()
+                .uri(serverMetricsUrl)
+                .retrieve()
+                .bodyToFlux(String.class)
+                .filter(line -> line.startsWith("jvm_memory_used_bytes{") && line.contains("area=\"heap\"")
+                        || line.startsWith("jvm_buffer_memory_used_bytes{") && line.contains("id=\"direct\""))
+                .map(line -> (long) Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1)))
+                .reduce(0L, Long::sum)
+                .onErrorReturn(-1L);
+    }
+
+    private void write(LoadReport report) {
+        if (output.isBlank()) {
+            return;
+        }
+
+        var path = Path.of(output);
+        try {
+            if (output.endsWith(".json")) {
+                objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+                return;
+            }
+            var lines = new ArrayList<String>();
+            if (Files.notExists(path)) {
+                lines.add(LoadSample.CSV_HEADER);
+            }
+            report.intervals().forEach(sample -> lines.add(sample.toCsv()));
+            lines.add(report.total().toCsv());
+            Files.write(path, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StreamOpener {
+
+        Flux<MovieEvent> open(long index, Movie movie);
+    }
+
+    public record LoadReport(String transport, int subscriptions, Duration consumerDelay, List<LoadSample> intervals,
+                             LoadSample total, long serverBytesBefore, long serverBytesLoaded) {
+
+        public long serverBytesPerStream() {
+            return serverBytesBefore < 0 || serverBytesLoaded < 0
+                    ? -1
+                    : (serverBytesLoaded - serverBytesBefore) / Math.max(1, subscriptions);
+        }
+    }
+}
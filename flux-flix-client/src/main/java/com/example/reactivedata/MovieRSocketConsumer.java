@@ -0,0 +1,94 @@
+package com.example.reactivedata;
+
+import io.rsocket.exceptions.ApplicationErrorException;
+import io.rsocket.exceptions.InvalidException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.rsocket.RSocketRequester;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link MovieEventConsumer} over the service's RSocket routes. All streams share one TCP connection, and each
+ * stream's demand is sent to the server as REQUEST_N frames.
+ */
+@Component
+@ConditionalOnProperty(prefix = "consumer", name = "transport", havingValue = "rsocket")
+public class MovieRSocketConsumer {
+
+    private final RSocketRequester requester;
+    private final int concurrency;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+    private final double jitter;
+    private final int searchLimit;
+
+    private final AtomicInteger activeStreams = new AtomicInteger();
+    private final AtomicLong reconnects = new AtomicLong();
+
+    public MovieRSocketConsumer(RSocketRequester.Builder requesterBuilder,
+                                @Value("${consumer.rsocket-host:localhost}") String host,
+                                @Value("${consumer.rsocket-port:7000}") int port,
+                                @Value("${consumer.concurrency:64}") int concurrency,
+                                @Value("${consumer.min-backoff:PT0.5S}") Duration minBackoff,
+                                @Value("${consumer.max-backoff:PT30S}") Duration maxBackoff,
+                                @Value("${consumer.jitter:0.5}") double jitter,
+                                @Value("${consumer.search-limit:100}") int searchLimit) {
+        this.requester = requesterBuilder
+                .rsocketConnector(connector -> connector.reconnect(Retry.backoff(Long.MAX_VALUE, minBackoff)
+                        .maxBackoff(maxBackoff)
+                        .jitter(jitter)))
+                .tcp(host, port);
+        this.concurrency = concurrency;
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+        this.jitter = jitter;
+        this.searchLimit = searchLimit;
+    }
+
+    public Flux<MovieEvent> consume(String titleQuery) {
+        return requester.route("movies.search")
+                .data(new MovieSearch(titleQuery, false, searchLimit))
+                .retrieveFlux(Movie.class)
+                .flatMap(this::events, concurrency);
+    }
+
+    public Flux<MovieEvent> events(Movie movie) {
+        return Flux.defer(() -> requester.route("movies.{id}.events", movie.id())
+                        .retrieveFlux(MovieEvent.class)
+                        .doOnSubscribe(subscription -> activeStreams.incrementAndGet())
+                        .doFinally(signal -> activeStreams.decrementAndGet())
+                        .concatWith(Flux.error(() -> new IllegalStateException("Event stream for movie " + movie.id() + " closed"))))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, minBackoff)
+                        .maxBackoff(maxBackoff)
+                        .jitter(jitter)
+                        .filter(MovieRSocketConsumer::isRetryable)
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> reconnects.incrementAndGet()));
+    }
+
+    // An error frame from the route's handler (e.g. a rejected payload) or an invalid request will be sent again on
+    // every retry, so it ends the stream. Connection failures and closed streams are retried.
+    private static boolean isRetryable(Throwable error) {
+        return !(error instanceof ApplicationErrorException || error instanceof InvalidException);
+    }
+
+    public int activeStreams() {
+        return activeStreams.get();
+    }
+
+    public long reconnects() {
+        return reconnects.get();
+    }
+
+    @PreDestroy
+    public void close() {
+        requester.dispose();
+    }
+}
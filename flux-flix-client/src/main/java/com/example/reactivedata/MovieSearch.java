@@ -0,0 +1,3 @@
+package com.example.reactivedata;
+
+public record MovieSearch(String q, boolean prefix, Integer limit) { }
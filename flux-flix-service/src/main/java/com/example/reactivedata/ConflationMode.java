@@ -0,0 +1,13 @@
+package com.example.reactivedata;
+
+public enum ConflationMode {
+
+    /** Keep the previous behaviour: the hub drops a slow subscriber to the latest event. */
+    OFF,
+
+    /** Send the latest event as soon as the subscriber asks for more. */
+    LATEST,
+
+    /** While the subscriber lags, send at most one summary per interval. */
+    SUMMARY
+}
@@ -0,0 +1,27 @@
+package com.example.reactivedata;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Starts the service with the {@code fast} profile and without component scanning: the beans come from
+ * {@link FluxFlixInitializer}. With {@code fluxflix.startup.exit-on-ready=true} the JVM exits once the application is
+ * ready, which is how the {@code fast-startup} Maven profile records the AppCDS archive.
+ * <p>
+ * Not a {@code @SpringBootConfiguration}, so component scanning from {@link ReactiveDataApplication} and test
+ * bootstrapping do not pick it up.
+ */
+@EnableAutoConfiguration
+public class FastStartupApplication {
+
+    public static void main(String[] args) {
+        var context = new SpringApplicationBuilder(FastStartupApplication.class)
+                .profiles("fast")
+                .initializers(new FluxFlixInitializer())
+                .run(args);
+        if (context.getEnvironment().getProperty("fluxflix.startup.exit-on-ready", Boolean.class, false)) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
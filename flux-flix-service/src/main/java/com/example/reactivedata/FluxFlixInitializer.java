@@ -0,0 +1,30 @@
+package com.example.reactivedata;
+
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.support.GenericApplicationContext;
+
+/**
+ * Registers the FluxFlix beans directly, so {@link FastStartupApplication} needs no component scan. Constructors are
+ * still resolved by the bean factory, which keeps the {@code @Value} defaults in one place.
+ */
+public class FluxFlixInitializer implements ApplicationContextInitializer<GenericApplicationContext> {
+
+    @Override
+    public void initialize(GenericApplicationContext context) {
+        context.registerBean(MovieCache.class);
+        context.registerBean(MovieCacheInvalidator.class);
+        context.registerBean(MovieEventHub.class);
+        context.registerBean(MovieEventReplay.class);
+        context.registerBean(MovieEventEncoder.class);
+        context.registerBean(MovieEventConflation.class);
+        context.registerBean(MovieTitleIndex.class);
+        context.registerBean(MovieTitleIndexer.class);
+        context.registerBean(FluxFlixService.class);
+        context.registerBean(FluxFlixMetrics.class);
+        context.registerBean(MovieRestController.class);
+        context.registerBean(MovieRSocketController.class);
+        if (context.getEnvironment().getProperty("fluxflix.seed.enabled", Boolean.class, false)) {
+            context.registerBean(MovieSeeder.class);
+        }
+    }
+}
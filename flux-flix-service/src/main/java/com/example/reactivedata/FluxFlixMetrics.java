@@ -0,0 +1,66 @@
+package com.example.reactivedata;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class FluxFlixMetrics implements MeterBinder {
+
+    private final MovieEventHub movieEventHub;
+    private final MovieCache movieCache;
+    private final MovieEventReplay movieEventReplay;
+    private final MovieTitleIndex movieTitleIndex;
+    private final MovieEventConflation movieEventConflation;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("fluxflix.sse.connections", movieEventHub, MovieEventHub::subscribers)
+                .description("Open /movies/{id}/events streams")
+                .register(registry);
+        Gauge.builder("fluxflix.hubs", movieEventHub, MovieEventHub::activeHubs)
+                .description("Movies with a shared event stream")
+                .register(registry);
+
+        Gauge.builder("fluxflix.cache.size", movieCache, MovieCache::size)
+                .register(registry);
+        FunctionCounter.builder("fluxflix.cache.requests", movieCache, MovieCache::hits)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("fluxflix.cache.requests", movieCache, MovieCache::misses)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("fluxflix.cache.evictions", movieCache, MovieCache::evictions)
+                .register(registry);
+
+        Gauge.builder("fluxflix.sse.lagging", movieEventConflation, MovieEventConflation::laggingSubscribers)
+                .description("Event streams currently conflating because the client fell behind")
+                .register(registry);
+        FunctionCounter.builder("fluxflix.sse.events", movieEventConflation, MovieEventConflation::delivered)
+                .tag("result", "delivered")
+                .register(registry);
+        FunctionCounter.builder("fluxflix.sse.events", movieEventConflation, MovieEventConflation::conflated)
+                .tag("result", "conflated")
+                .register(registry);
+        FunctionCounter.builder("fluxflix.sse.summaries", movieEventConflation, MovieEventConflation::summaries)
+                .register(registry);
+        Gauge.builder("fluxflix.sse.conflation.ratio", movieEventConflation, MovieEventConflation::conflationRatio)
+                .description("Share of events conflated instead of sent since startup")
+                .register(registry);
+
+        Gauge.builder("fluxflix.replay.buffers", movieEventReplay, MovieEventReplay::buffers)
+                .register(registry);
+        Gauge.builder("fluxflix.replay.events", movieEventReplay, MovieEventReplay::bufferedEvents)
+                .register(registry);
+        Gauge.builder("fluxflix.replay.size", movieEventReplay, MovieEventReplay::bufferedBytes)
+                .baseUnit("bytes")
+                .register(registry);
+
+        Gauge.builder("fluxflix.search.titles", movieTitleIndex, MovieTitleIndex::size)
+                .register(registry);
+    }
+}
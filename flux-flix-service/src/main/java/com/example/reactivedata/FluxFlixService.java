@@ -1,39 +1,72 @@
 package com.example.reactivedata;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.function.Tuple2;
 
 import java.time.Duration;
 import java.util.Date;
-import java.util.Random;
-import java.util.stream.Stream;
+import java.util.concurrent.ThreadLocalRandom;
 
 @RequiredArgsConstructor
 @Service
 public class FluxFlixService {
 
+    // Meters are named fluxflix.movies.*, tagged by operation but not by movie, to keep cardinality fixed.
+    static final String METRICS_NAME = "fluxflix.movies";
+
+    static final String[] USERS = "John, Phillip, Maycon, Wilson, Maria, Johnson".split(",");
+
     private final MovieRepository movieRepository;
+    private final MovieEventHub movieEventHub;
+    private final MovieCache movieCache;
+    private final MovieEventReplay movieEventReplay;
+    private final MovieTitleIndex movieTitleIndex;
+
+    @Value("${fluxflix.events.period:PT1S}")
+    private Duration eventPeriod;
 
     public Flux<MovieEvent> streamStreams(Movie movie) {
-        var interval = Flux.interval(Duration.ofSeconds(1));
-        var events = Flux.fromStream(Stream.generate(() -> new MovieEvent(movie, new Date(), randomUser())));
-        return Flux.zip(interval, events).map(Tuple2::getT2);
+        return streamStreams(movie, null).map(SequencedMovieEvent::event);
+    }
+
+    public Flux<SequencedMovieEvent> streamStreams(Movie movie, Long lastEventId) {
+        return movieEventReplay.resume(movie.id(), lastEventId, movieEventHub.subscribe(movie, this::generate))
+                .name(METRICS_NAME)
+                .tag("operation", "stream-streams")
+                .metrics();
+    }
+
+    private Flux<SequencedMovieEvent> generate(Movie movie) {
+        return Flux.interval(eventPeriod)
+                .map(tick -> movieEventReplay.append(movie.id(), new MovieEvent(movie, new Date(), randomUser())));
     }
 
     public Flux<Movie> findAll() {
-        return movieRepository.findAll();
+        return movieCache.findAll(movieRepository::findAll)
+                .name(METRICS_NAME)
+                .tag("operation", "find-all")
+                .metrics();
     }
 
     public Mono<Movie> findById(String id) {
-        return movieRepository.findById(id);
+        return movieCache.findById(id, () -> movieRepository.findById(id))
+                .name(METRICS_NAME)
+                .tag("operation", "find-by-id")
+                .metrics();
+    }
+
+    public Flux<Movie> search(String query, boolean prefix, int limit) {
+        return Flux.defer(() -> Flux.fromIterable(movieTitleIndex.search(query, prefix, limit)))
+                .name(METRICS_NAME)
+                .tag("operation", "search")
+                .metrics();
     }
 
     public String randomUser() {
-        String users[] = "John, Phillip, Maycon, Wilson, Maria, Johnson".split(",");
-        return users[new Random().nextInt(users.length)];
+        return USERS[ThreadLocalRandom.current().nextInt(USERS.length)];
     }
 }
 
@@ -0,0 +1,177 @@
+package com.example.reactivedata;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+@Component
+public class MovieCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final Map<String, Entry<Movie>> movies;
+    private volatile Entry<List<Movie>> catalog;
+    // Bumped by every invalidation, so loads that were in flight at the time are not kept.
+    private volatile long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public MovieCache(@Value("${fluxflix.cache.max-size:1000}") int maxSize,
+                      @Value("${fluxflix.cache.ttl:PT5M}") Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.movies = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<Movie>> eldest) {
+                if (size() > MovieCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Mono<Movie> findById(String id, Supplier<Mono<Movie>> loader) {
+        Entry<Movie> entry;
+        synchronized (movies) {
+            entry = movies.get(id);
+            if (entry != null && entry.isExpired()) {
+                movies.remove(id);
+                evictions.incrementAndGet();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.incrementAndGet();
+                entry = load(id, loader.get());
+                movies.put(id, entry);
+                return entry.value();
+            }
+        }
+        hits.incrementAndGet();
+        return entry.value();
+    }
+
+    public Flux<Movie> findAll(Supplier<Flux<Movie>> loader) {
+        var entry = catalog;
+        if (entry == null || entry.isExpired()) {
+            synchronized (movies) {
+                entry = catalog;
+                if (entry != null && entry.isExpired()) {
+                    evictions.incrementAndGet();
+                    entry = null;
+                }
+                if (entry == null) {
+                    misses.incrementAndGet();
+                    entry = loadCatalog(loader.get());
+                    catalog = entry;
+                    return entry.value().flatMapIterable(list -> list);
+                }
+            }
+        }
+        hits.incrementAndGet();
+        return entry.value().flatMapIterable(list -> list);
+    }
+
+    public void invalidate(String id) {
+        synchronized (movies) {
+            movies.remove(id);
+            catalog = null;
+            generation++;
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (movies) {
+            movies.clear();
+            catalog = null;
+            generation++;
+        }
+    }
+
+    public int size() {
+        synchronized (movies) {
+            return movies.size();
+        }
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    public long evictions() {
+        return evictions.get();
+    }
+
+    // Failed and empty lookups are not kept, nor are loads that an invalidation overtook.
+    private Entry<Movie> load(String id, Mono<Movie> loader) {
+        long loadGeneration = generation;
+        var entry = new AtomicReference<Entry<Movie>>();
+        var value = loader
+                .doOnSuccess(movie -> {
+                    if (movie == null || generation != loadGeneration) {
+                        remove(id, entry.get());
+                    }
+                })
+                .doOnError(error -> remove(id, entry.get()))
+                .cache();
+        entry.set(new Entry<>(value, expiry()));
+        return entry.get();
+    }
+
+    private Entry<List<Movie>> loadCatalog(Flux<Movie> loader) {
+        long loadGeneration = generation;
+        var entry = new AtomicReference<Entry<List<Movie>>>();
+        var value = loader
+                .collectList()
+                .doOnSuccess(list -> {
+                    if (list.isEmpty() || generation != loadGeneration) {
+                        removeCatalog(entry.get());
+                    }
+                })
+                .doOnError(error -> removeCatalog(entry.get()))
+                .cache();
+        entry.set(new Entry<>(value, expiry()));
+        return entry.get();
+    }
+
+    private void remove(String id, Entry<Movie> entry) {
+        synchronized (movies) {
+            movies.remove(id, entry);
+        }
+    }
+
+    private void removeCatalog(Entry<List<Movie>> entry) {
+        synchronized (movies) {
+            if (catalog == entry) {
+                catalog = null;
+            }
+        }
+    }
+
+    private long expiry() {
+        return System.nanoTime() + ttlNanos;
+    }
+
+    private record Entry<T>(Mono<T> value, long expiresAt) {
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.reactivedata;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class MovieCacheInvalidator extends AbstractMongoEventListener<Movie> {
+
+    private final MovieCache movieCache;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Movie> event) {
+        movieCache.invalidate(event.getSource().id());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Movie> event) {
+        movieCache.invalidateAll();
+    }
+}
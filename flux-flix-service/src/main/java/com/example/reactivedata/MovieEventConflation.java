@@ -0,0 +1,202 @@
+package com.example.reactivedata;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adapts each SSE subscriber's event rate to its demand. The HTTP response only requests more frames while the
+ * channel is writable, so demand reflects how fast the client actually reads.
+ * <p>
+ * Events are requested from the hub without limit. When one arrives and the subscriber has demand, it is sent right
+ * away. Otherwise it replaces the pending event and the subscriber counts as lagging. The pending event is sent, with
+ * the number of events it replaced, once demand comes back ({@link ConflationMode#LATEST}), or at most once per
+ * {@code fluxflix.conflation.summary-interval} ({@link ConflationMode#SUMMARY}). A subscriber stops lagging when an
+ * event can be sent as soon as it arrives again, or when it had demand for everything since the last summary.
+ */
+@Component
+public class MovieEventConflation {
+
+    private final ConflationMode mode;
+    private final long summaryIntervalNanos;
+
+    private final AtomicInteger laggingSubscribers = new AtomicInteger();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong conflated = new AtomicLong();
+    private final AtomicLong summaries = new AtomicLong();
+
+    public MovieEventConflation(@Value("${fluxflix.conflation.mode:latest}") ConflationMode mode,
+                                @Value("${fluxflix.conflation.summary-interval:PT5S}") Duration summaryInterval) {
+        this.mode = mode;
+        this.summaryIntervalNanos = summaryInterval.toNanos();
+    }
+
+    public Flux<MovieEventFrame> conflate(Flux<SequencedMovieEvent> events) {
+        if (mode == ConflationMode.OFF) {
+            return events.map(MovieEventFrame::of);
+        }
+        return Flux.create(sink -> {
+            var subscriber = new ConflatingSubscriber(sink);
+            Disposable upstream = events.subscribe(subscriber::onNext, subscriber::onError, subscriber::onComplete);
+            sink.onRequest(n -> subscriber.drain());
+            sink.onDispose(() -> {
+                upstream.dispose();
+                subscriber.dispose();
+            });
+        });
+    }
+
+    public ConflationMode mode() {
+        return mode;
+    }
+
+    public int laggingSubscribers() {
+        return laggingSubscribers.get();
+    }
+
+    public long delivered() {
+        return delivered.get();
+    }
+
+    public long conflated() {
+        return conflated.get();
+    }
+
+    public long summaries() {
+        return summaries.get();
+    }
+
+    /** Share of events that were conflated instead of sent. */
+    public double conflationRatio() {
+        long skipped = conflated.get();
+        long total = skipped + delivered.get();
+        return total == 0 ? 0 : (double) skipped / total;
+    }
+
+    private final class ConflatingSubscriber {
+
+        private final FluxSink<MovieEventFrame> sink;
+
+        private SequencedMovieEvent pending;
+        private long skipped;
+        private boolean lagging;
+        private boolean starved;
+        private boolean done;
+        private Throwable error;
+        private long lastSummaryNanos;
+        private Disposable scheduledDrain;
+
+        private ConflatingSubscriber(FluxSink<MovieEventFrame> sink) {
+            this.sink = sink;
+        }
+
+        synchronized void onNext(SequencedMovieEvent event) {
+            if (pending == null && sink.requestedFromDownstream() > 0 && !withinSummaryInterval()) {
+                setLagging(false);
+                send(MovieEventFrame.of(event));
+                return;
+            }
+            if (pending != null) {
+                skipped++;
+                conflated.incrementAndGet();
+            }
+            if (sink.requestedFromDownstream() == 0) {
+                starved = true;
+            }
+            pending = event;
+            setLagging(true);
+            drain();
+        }
+
+        synchronized void onError(Throwable throwable) {
+            error = throwable;
+            done = true;
+            drain();
+        }
+
+        synchronized void onComplete() {
+            done = true;
+            drain();
+        }
+
+        synchronized void drain() {
+            if (pending != null && sink.requestedFromDownstream() > 0) {
+                if (mode == ConflationMode.SUMMARY && lagging) {
+                    long wait = lastSummaryNanos + summaryIntervalNanos - System.nanoTime();
+                    if (wait > 0 && !done) {
+                        scheduleDrain(wait);
+                        return;
+                    }
+                    lastSummaryNanos = System.nanoTime();
+                    summaries.incrementAndGet();
+                }
+                var frame = new MovieEventFrame(pending, skipped, mode == ConflationMode.SUMMARY && lagging);
+                // Events only held back by the summary interval mean the subscriber has kept up since the last one.
+                boolean recovered = frame.summary() && !starved;
+                pending = null;
+                skipped = 0;
+                starved = false;
+                send(frame);
+                if (recovered) {
+                    setLagging(false);
+                }
+            }
+            if (done && pending == null) {
+                setLagging(false);
+                if (error != null) {
+                    sink.error(error);
+                } else {
+                    sink.complete();
+                }
+            }
+        }
+
+        synchronized void dispose() {
+            setLagging(false);
+            if (scheduledDrain != null) {
+                scheduledDrain.dispose();
+            }
+        }
+
+        // A lagging SUMMARY subscriber gets nothing until the interval since its last summary has passed.
+        private boolean withinSummaryInterval() {
+            return mode == ConflationMode.SUMMARY && lagging
+                    && System.nanoTime() - lastSummaryNanos < summaryIntervalNanos;
+        }
+
+        private void send(MovieEventFrame frame) {
+            delivered.incrementAndGet();
+            sink.next(frame);
+        }
+
+        private void setLagging(boolean value) {
+            if (lagging != value) {
+                lagging = value;
+                if (value) {
+                    laggingSubscribers.incrementAndGet();
+                } else {
+                    laggingSubscribers.decrementAndGet();
+                }
+            }
+        }
+
+        private void scheduleDrain(long delayNanos) {
+            if (scheduledDrain == null || scheduledDrain.isDisposed()) {
+                scheduledDrain = Schedulers.parallel().schedule(() -> {
+                    synchronized (this) {
+                        scheduledDrain = null;
+                        drain();
+                    }
+                }, delayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.reactivedata;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Writes a {@link SequencedMovieEvent} as an SSE frame straight into a {@link DataBuffer}:
+ * <pre>
+ * id:&lt;id&gt;
+ * data:{"movie":&lt;movie&gt;,"when":"&lt;when&gt;","user":&lt;user&gt;}
+ * </pre>
+ * The movie JSON is serialized once per movie and the users once per {@link FluxFlixService#USERS} entry, so encoding
+ * an event only formats the id and timestamp. {@code when} uses the same ISO-8601 UTC format as Boot's ObjectMapper.
+ * <p>
+ * A {@link MovieEventFrame} that stands for conflated events starts with a {@code :skipped <count>} comment, and a
+ * summary frame is sent as {@code event:summary}, so clients that only read {@code data} keep working.
+ */
+@Component
+public class MovieEventEncoder {
+
+    private static final byte[] SKIPPED = bytes(":skipped ");
+    private static final byte[] SUMMARY = bytes("event:summary\n");
+    private static final byte[] ID = bytes("id:");
+    private static final byte[] DATA_MOVIE = bytes("\ndata:{\"movie\":");
+    private static final byte[] WHEN = bytes(",\"when\":\"");
+    private static final byte[] USER = bytes("\",\"user\":");
+    private static final byte[] END = bytes("}\n\n");
+    private static final byte[] UTC = bytes("+00:00");
+
+    // "yyyy-MM-ddTHH:mm:ss.SSS+00:00"
+    private static final int TIMESTAMP_BYTES = 29;
+    private static final int MAX_ID_BYTES = 20;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private final ObjectMapper objectMapper;
+    private final int maxMovies;
+    private final ConcurrentMap<String, EncodedMovie> movies = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> users = new HashMap<>();
+
+    public MovieEventEncoder(ObjectMapper objectMapper,
+                             @Value("${fluxflix.cache.max-size:1000}") int maxMovies) {
+        this.objectMapper = objectMapper;
+        this.maxMovies = maxMovies;
+        for (String user : FluxFlixService.USERS) {
+            users.put(user, json(user));
+        }
+    }
+
+    public DataBuffer encode(SequencedMovieEvent sequenced, DataBufferFactory bufferFactory) {
+        return encode(MovieEventFrame.of(sequenced), bufferFactory);
+    }
+
+    public DataBuffer encode(MovieEventFrame frame, DataBufferFactory bufferFactory) {
+        var sequenced = frame.sequenced();
+        var event = sequenced.event();
+        byte[] movie = movie(event.movie());
+        byte[] user = users.get(event.user());
+        if (user == null) {
+            user = json(event.user());
+        }
+
+        int size = ID.length + MAX_ID_BYTES + DATA_MOVIE.length + movie.length + WHEN.length + TIMESTAMP_BYTES
+                + USER.length + user.length + END.length
+                + (frame.skipped() > 0 ? SKIPPED.length + MAX_ID_BYTES + 1 : 0)
+                + (frame.summary() ? SUMMARY.length : 0);
+        var buffer = bufferFactory.allocateBuffer(size);
+        if (frame.skipped() > 0) {
+            buffer.write(SKIPPED);
+            writeLong(buffer, frame.skipped());
+            buffer.write((byte) '\n');
+        }
+        if (frame.summary()) {
+            buffer.write(SUMMARY);
+        }
+        buffer.write(ID);
+        writeLong(buffer, sequenced.id());
+        buffer.write(DATA_MOVIE);
+        buffer.write(movie);
+        buffer.write(WHEN);
+        writeTimestamp(buffer, event.when().getTime());
+        buffer.write(USER);
+        buffer.write(user);
+        buffer.write(END);
+        return buffer;
+    }
+
+    // Size of the frame encode(SequencedMovieEvent, ...) writes. A movie that is not cached yet is serialized to measure
+    // it, but not added to the cache.
+    public int encodedLength(SequencedMovieEvent sequenced) {
+        var event = sequenced.event();
+        byte[] user = users.get(event.user());
+        int userLength = user != null ? user.length : json(event.user()).length;
+        byte[] movie = cached(event.movie());
+        int movieLength = movie != null ? movie.length : json(event.movie()).length;
+        return ID.length + digits(sequenced.id()) + DATA_MOVIE.length + movieLength + WHEN.length
+                + TIMESTAMP_BYTES + USER.length + userLength + END.length;
+    }
+
+    public int cachedMovies() {
+        return movies.size();
+    }
+
+    private byte[] movie(Movie movie) {
+        byte[] json = cached(movie);
+        if (json != null) {
+            return json;
+        }
+        // Reads stay lock-free; a full cache is simply started over, which costs one serialization per movie.
+        if (movies.size() >= maxMovies && !movies.containsKey(movie.id())) {
+            movies.clear();
+        }
+        json = json(movie);
+        movies.put(movie.id(), new EncodedMovie(movie, json));
+        return json;
+    }
+
+    private byte[] cached(Movie movie) {
+        var encoded = movies.get(movie.id());
+        return encoded != null && (encoded.movie() == movie || encoded.movie().equals(movie)) ? encoded.json() : null;
+    }
+
+    private byte[] json(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + value, e);
+        }
+    }
+
+    private static void writeLong(DataBuffer buffer, long value) {
+        if (value < 0) {
+            buffer.write((byte) '-');
+            value = -value;
+        }
+        long scale = 1;
+        while (scale <= value / 10) {
+            scale *= 10;
+        }
+        for (; scale > 0; scale /= 10) {
+            buffer.write((byte) ('0' + value / scale % 10));
+        }
+    }
+
+    private static int digits(long value) {
+        int digits = value < 0 ? 2 : 1;
+        for (long rest = Math.abs(value / 10); rest > 0; rest /= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    // Civil date from days since the epoch, see http://howardhinnant.github.io/date_algorithms.html#civil_from_days
+    private static void writeTimestamp(DataBuffer buffer, long epochMillis) {
+        long days = Math.floorDiv(epochMillis, MILLIS_PER_DAY);
+        long millisOfDay = Math.floorMod(epochMillis, MILLIS_PER_DAY);
+
+        long z = days + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthIndex = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * monthIndex + 2) / 5 + 1;
+        long month = monthIndex < 10 ? monthIndex + 3 : monthIndex - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        writeDigits(buffer, year, 4);
+        buffer.write((byte) '-');
+        writeDigits(buffer, month, 2);
+        buffer.write((byte) '-');
+        writeDigits(buffer, day, 2);
+        buffer.write((byte) 'T');
+        writeDigits(buffer, millisOfDay / 3_600_000, 2);
+        buffer.write((byte) ':');
+        writeDigits(buffer, millisOfDay / 60_000 % 60, 2);
+        buffer.write((byte) ':');
+        writeDigits(buffer, millisOfDay / 1000 % 60, 2);
+        buffer.write((byte) '.');
+        writeDigits(buffer, millisOfDay % 1000, 3);
+        buffer.write(UTC);
+    }
+
+    private static void writeDigits(DataBuffer buffer, long value, int digits) {
+        for (long scale = pow10(digits - 1); scale > 0; scale /= 10) {
+            buffer.write((byte) ('0' + value / scale % 10));
+        }
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record EncodedMovie(Movie movie, byte[] json) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.reactivedata;
+
+/**
+ * An event on its way to an SSE subscriber. {@code skipped} counts the events conflated into it because the
+ * subscriber fell behind; a {@code summary} frame stands for a whole interval of them.
+ */
+public record MovieEventFrame(SequencedMovieEvent sequenced, long skipped, boolean summary) {
+
+    static MovieEventFrame of(SequencedMovieEvent sequenced) {
+        return new MovieEventFrame(sequenced, 0, false);
+    }
+}
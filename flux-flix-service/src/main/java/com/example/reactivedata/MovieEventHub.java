@@ -0,0 +1,70 @@
+package com.example.reactivedata;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+@Component
+public class MovieEventHub {
+
+    private final ConcurrentMap<String, Channel> channels = new ConcurrentHashMap<>();
+
+    /**
+     * Subscribers are counted inside {@code compute}, so joining a channel and releasing the last subscriber are atomic
+     * with the map entry: a channel is removed exactly when its count drops to zero and is never rejoined afterwards.
+     */
+    public Flux<SequencedMovieEvent> subscribe(Movie movie, Function<Movie, Flux<SequencedMovieEvent>> source) {
+        return Flux.defer(() -> {
+            var channel = channels.compute(movie.id(), (id, existing) -> {
+                var joined = existing == null ? new Channel(source.apply(movie)) : existing;
+                joined.subscribers.incrementAndGet();
+                return joined;
+            });
+            return channel.events()
+                    .doFinally(signal -> release(movie.id(), channel));
+        });
+    }
+
+    public int activeHubs() {
+        return channels.size();
+    }
+
+    public int subscribers() {
+        return channels.values().stream().mapToInt(Channel::subscribers).sum();
+    }
+
+    public int subscribers(String movieId) {
+        var channel = channels.get(movieId);
+        return channel == null ? 0 : channel.subscribers();
+    }
+
+    private void release(String movieId, Channel channel) {
+        channels.computeIfPresent(movieId, (id, existing) ->
+                existing == channel && channel.subscribers.decrementAndGet() == 0 ? null : existing);
+    }
+
+    private static final class Channel {
+
+        private final AtomicInteger subscribers = new AtomicInteger();
+        private final Flux<SequencedMovieEvent> events;
+
+        private Channel(Flux<SequencedMovieEvent> source) {
+            this.events = source
+                    .publish()
+                    .refCount()
+                    .onBackpressureLatest();
+        }
+
+        private Flux<SequencedMovieEvent> events() {
+            return events;
+        }
+
+        private int subscribers() {
+            return subscribers.get();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.reactivedata;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class MovieEventReplay {
+
+    private final ConcurrentMap<String, Buffer> buffers = new ConcurrentHashMap<>();
+    private final MovieEventEncoder encoder;
+    private final int maxEvents;
+    private final long maxBytes;
+    private final long maxAgeMillis;
+    private final Disposable sweeper;
+
+    public MovieEventReplay(MovieEventEncoder encoder,
+                            @Value("${fluxflix.replay.max-events:300}") int maxEvents,
+                            @Value("${fluxflix.replay.max-bytes:65536}") long maxBytes,
+                            @Value("${fluxflix.replay.max-age:PT5M}") Duration maxAge) {
+        this.encoder = encoder;
+        this.maxEvents = Math.max(1, maxEvents);
+        this.maxBytes = maxBytes;
+        this.maxAgeMillis = maxAge.toMillis();
+        this.sweeper = Flux.interval(maxAge).subscribe(tick -> sweep());
+    }
+
+    public SequencedMovieEvent append(String movieId, MovieEvent event) {
+        return buffers.computeIfAbsent(movieId, id -> new Buffer()).append(event);
+    }
+
+    // A live subscriber gets the live events as they are, skipped ones included. A resumed one gets the buffered
+    // events after its id, plus whatever was appended between that snapshot and its first live event. Gaps after
+    // that are events the hub conflated for a slow subscriber, and they are not sent again.
+    public Flux<SequencedMovieEvent> resume(String movieId, Long lastEventId, Flux<SequencedMovieEvent> live) {
+        if (lastEventId == null) {
+            return live;
+        }
+        return Flux.defer(() -> {
+            var buffer = buffers.computeIfAbsent(movieId, id -> new Buffer());
+            var last = new AtomicLong(lastEventId);
+
+            var caughtUp = live.switchOnFirst((first, events) -> first.hasValue()
+                    ? Flux.defer(() -> Flux.fromIterable(buffer.between(last.get(), first.get().id()))).concatWith(events)
+                    : events);
+
+            return Flux.concat(Flux.fromIterable(buffer.between(lastEventId, Long.MAX_VALUE)), caughtUp)
+                    .filter(event -> {
+                        if (event.id() <= last.get()) {
+                            return false;
+                        }
+                        last.set(event.id());
+                        return true;
+                    });
+        });
+    }
+
+    public int buffers() {
+        return buffers.size();
+    }
+
+    public long bufferedEvents() {
+        return buffers.values().stream().mapToLong(Buffer::size).sum();
+    }
+
+    // Bytes the buffered events take as SSE frames, the unit fluxflix.replay.max-bytes is counted in.
+    public long bufferedBytes() {
+        return buffers.values().stream().mapToLong(Buffer::bytes).sum();
+    }
+
+    @PreDestroy
+    public void close() {
+        sweeper.dispose();
+    }
+
+    private void sweep() {
+        buffers.forEach((movieId, buffer) -> {
+            if (buffer.evictExpired()) {
+                buffers.remove(movieId, buffer);
+            }
+        });
+    }
+
+    private final class Buffer {
+
+        private final Deque<Entry> events = new ArrayDeque<>();
+        private long nextId = System.currentTimeMillis() * 1000;
+        private long bytes;
+
+        synchronized SequencedMovieEvent append(MovieEvent event) {
+            var sequenced = new SequencedMovieEvent(nextId++, event);
+            var entry = new Entry(sequenced, encoder.encodedLength(sequenced));
+            events.addLast(entry);
+            bytes += entry.bytes();
+            // The newest event always stays, even when it alone is over the byte cap.
+            while (events.size() > 1 && (events.size() > maxEvents || bytes > maxBytes)) {
+                removeFirst();
+            }
+            evictExpired();
+            return sequenced;
+        }
+
+        synchronized List<SequencedMovieEvent> between(long afterId, long beforeId) {
+            evictExpired();
+            var result = new ArrayList<SequencedMovieEvent>();
+            for (var entry : events) {
+                if (entry.event().id() > afterId && entry.event().id() < beforeId) {
+                    result.add(entry.event());
+                }
+            }
+            return result;
+        }
+
+        synchronized int size() {
+            return events.size();
+        }
+
+        synchronized long bytes() {
+            return bytes;
+        }
+
+        synchronized boolean evictExpired() {
+            long oldest = System.currentTimeMillis() - maxAgeMillis;
+            while (!events.isEmpty() && events.peekFirst().event().event().when().getTime() < oldest) {
+                removeFirst();
+            }
+            return events.isEmpty();
+        }
+
+        private void removeFirst() {
+            bytes -= events.removeFirst().bytes();
+        }
+    }
+
+    private record Entry(SequencedMovieEvent event, int bytes) {
+    }
+}
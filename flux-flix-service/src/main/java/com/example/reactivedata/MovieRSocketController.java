@@ -0,0 +1,55 @@
+package com.example.reactivedata;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * RSocket routes for the same operations as {@link MovieRestController}. Unlike SSE, a request-stream carries the
+ * subscriber's {@code request(n)} to the server, so {@code movies.{id}.events} only sends what the client asked for.
+ */
+@Controller
+@RequiredArgsConstructor
+public class MovieRSocketController {
+
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+
+    private final FluxFlixService fluxFlixService;
+
+    @Value("${fluxflix.search.max-limit:100}")
+    private int maxSearchLimit;
+
+    @MessageMapping("movies")
+    public Flux<Movie> findAll() {
+        return fluxFlixService.findAll();
+    }
+
+    // Same checks as GET /movies/search. The error reaches the requester as an ERROR frame carrying the message.
+    @MessageMapping("movies.search")
+    public Flux<Movie> search(@Payload(required = false) MovieSearch search) {
+        int limit = search == null || search.limit() == null ? DEFAULT_SEARCH_LIMIT : search.limit();
+        if (search == null || search.q() == null || search.q().isBlank() || limit < 1 || limit > maxSearchLimit) {
+            return Flux.error(new IllegalArgumentException(
+                    "q must not be blank and limit must be between 1 and " + maxSearchLimit));
+        }
+        return fluxFlixService.search(search.q(), search.prefix(), limit);
+    }
+
+    @MessageMapping("movies.{id}")
+    public Mono<Movie> findById(@DestinationVariable String id) {
+        return fluxFlixService.findById(id);
+    }
+
+    // The optional payload is the id of the last event the client received, as in Last-Event-ID.
+    @MessageMapping("movies.{id}.events")
+    public Flux<MovieEvent> events(@DestinationVariable String id, @Payload(required = false) Long lastEventId) {
+        return fluxFlixService.findById(id)
+                .flatMapMany(movie -> fluxFlixService.streamStreams(movie, lastEventId))
+                .map(SequencedMovieEvent::event);
+    }
+}
@@ -1,11 +1,17 @@
 package com.example.reactivedata;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -17,10 +23,23 @@ import java.awt.*;
 public class MovieRestController {
 
     private final FluxFlixService fluxFlixService;
+    private final MovieEventEncoder movieEventEncoder;
+    private final MovieEventConflation movieEventConflation;
+
+    @Value("${fluxflix.search.max-limit:100}")
+    private int maxSearchLimit;
 
     @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<MovieEvent> events(@PathVariable String id) {
-        return fluxFlixService.findById(id).flatMapMany(fluxFlixService::streamStreams);
+    public Mono<Void> events(@PathVariable String id,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                             ServerHttpResponse response) {
+        var resumeFrom = parseEventId(lastEventId);
+        response.getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+        var events = fluxFlixService.findById(id)
+                .flatMapMany(movie -> fluxFlixService.streamStreams(movie, resumeFrom));
+        var frames = movieEventConflation.conflate(events)
+                .map(event -> Mono.fromSupplier(() -> movieEventEncoder.encode(event, response.bufferFactory())));
+        return response.writeAndFlushWith(frames);
     }
 
     @GetMapping
@@ -28,9 +47,28 @@ public class MovieRestController {
         return fluxFlixService.findAll();
     }
 
+    @GetMapping("/search")
+    public Flux<Movie> search(@RequestParam String q,
+                              @RequestParam(defaultValue = "false") boolean prefix,
+                              @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank() || limit < 1 || limit > maxSearchLimit) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "q must not be blank and limit must be between 1 and " + maxSearchLimit);
+        }
+        return fluxFlixService.search(q, prefix, limit);
+    }
+
     @GetMapping("/{id}")
     public Mono<Movie> findById(@PathVariable String id) {
         return fluxFlixService.findById(id);
 
     }
+
+    private Long parseEventId(String lastEventId) {
+        try {
+            return lastEventId == null ? null : Long.valueOf(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Last-Event-ID must be an event id", e);
+        }
+    }
 }
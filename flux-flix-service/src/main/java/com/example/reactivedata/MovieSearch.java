@@ -0,0 +1,4 @@
+package com.example.reactivedata;
+
+/** Payload of the {@code movies.search} RSocket route, with the query parameters of {@code GET /movies/search}. */
+public record MovieSearch(String q, boolean prefix, Integer limit) { }
@@ -0,0 +1,43 @@
+package com.example.reactivedata;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Replaces the catalog with five sample movies once the application is ready. Only runs with
+ * {@code fluxflix.seed.enabled=true}, so a restarted or scaled-out instance does not wipe the collection.
+ * functional-reactive-endpoints reads the same collection and has no seeder of its own.
+ */
+@Component
+@ConditionalOnProperty(prefix = "fluxflix.seed", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class MovieSeeder {
+
+    private static final String[] GENRES = {"horror", "romcom", "drama", "action", "documentary"};
+
+    private final MovieRepository movieRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        Runnable create = () -> Stream.of("Aeon Flux",
+                        "Enter the Mono<Void>",
+                        "The Fluxinator",
+                        "The Silence of the Lambdas",
+                        "Reactive Mongos on Plane")
+                .map(name -> new Movie(UUID.randomUUID().toString(), name, randomGenre()))
+                .forEach(m -> movieRepository.save(m).subscribe(System.out::println));
+
+        movieRepository.deleteAll().subscribe(null, null, create);
+    }
+
+    private static String randomGenre() {
+        return GENRES[ThreadLocalRandom.current().nextInt(GENRES.length)];
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.reactivedata;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index over lower-cased {@link Movie#title()}s.
+ * <p>
+ * Substring queries look up the posting list of every trigram of the query, walk the shortest one and check each
+ * candidate title. Queries shorter than a trigram scan the titles. Prefix queries walk a sorted map of titles.
+ * Updated and removed movies leave stale postings behind that are skipped, until they outnumber the live movies and
+ * the index is rebuilt.
+ */
+@Component
+public class MovieTitleIndex {
+
+    private static final int GRAM = 3;
+    private static final int MIN_COMPACTION = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<String, Integer> docs = new HashMap<>();
+    private final NavigableMap<String, Integer> titles = new TreeMap<>();
+    private Movie[] movies = new Movie[MIN_COMPACTION];
+    private String[] normalized = new String[MIN_COMPACTION];
+    private int next;
+
+    public void put(Movie movie) {
+        lock.writeLock().lock();
+        try {
+            delete(movie.id());
+            add(movie);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String movieId) {
+        lock.writeLock().lock();
+        try {
+            delete(movieId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceAll(Collection<Movie> catalog) {
+        lock.writeLock().lock();
+        try {
+            reset(catalog.size());
+            catalog.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Movie> search(String query, boolean prefix, int limit) {
+        var needle = normalize(query);
+        lock.readLock().lock();
+        try {
+            if (prefix) {
+                return searchPrefix(needle, limit);
+            }
+            return needle.length() < GRAM ? scan(needle, limit) : searchSubstring(needle, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Movie> searchPrefix(String needle, int limit) {
+        var result = new ArrayList<Movie>(Math.min(limit, 16));
+        for (var entry : titles.tailMap(needle, true).entrySet()) {
+            if (result.size() >= limit || !entry.getKey().startsWith(needle)) {
+                break;
+            }
+            result.add(movies[entry.getValue()]);
+        }
+        return result;
+    }
+
+    private List<Movie> searchSubstring(String needle, int limit) {
+        Postings shortest = null;
+        for (int i = 0; i + GRAM <= needle.length(); i++) {
+            var candidates = postings.get(gram(needle, i));
+            if (candidates == null) {
+                return List.of();
+            }
+            if (shortest == null || candidates.size < shortest.size) {
+                shortest = candidates;
+            }
+        }
+
+        var result = new ArrayList<Movie>(Math.min(limit, 16));
+        for (int i = 0; i < shortest.size && result.size() < limit; i++) {
+            int doc = shortest.docs[i];
+            if (movies[doc] != null && normalized[doc].contains(needle)) {
+                result.add(movies[doc]);
+            }
+        }
+        return result;
+    }
+
+    private List<Movie> scan(String needle, int limit) {
+        var result = new ArrayList<Movie>(Math.min(limit, 16));
+        for (int doc = 0; doc < next && result.size() < limit; doc++) {
+            if (movies[doc] != null && normalized[doc].contains(needle)) {
+                result.add(movies[doc]);
+            }
+        }
+        return result;
+    }
+
+    private void add(Movie movie) {
+        if (movie.title() == null) {
+            return;
+        }
+        if (next == movies.length) {
+            movies = Arrays.copyOf(movies, next * 2);
+            normalized = Arrays.copyOf(normalized, next * 2);
+        }
+        int doc = next++;
+        var title = normalize(movie.title());
+        movies[doc] = movie;
+        normalized[doc] = title;
+        docs.put(movie.id(), doc);
+        titles.put(titleKey(title, doc), doc);
+
+        for (int i = 0; i + GRAM <= title.length(); i++) {
+            postings.computeIfAbsent(gram(title, i), key -> new Postings()).add(doc);
+        }
+    }
+
+    private void delete(String movieId) {
+        var doc = docs.remove(movieId);
+        if (doc != null) {
+            titles.remove(titleKey(normalized[doc], doc));
+            movies[doc] = null;
+            normalized[doc] = null;
+        }
+    }
+
+    private void compactIfNeeded() {
+        int stale = next - docs.size();
+        if (stale > Math.max(docs.size(), MIN_COMPACTION)) {
+            var live = new ArrayList<Movie>(docs.size());
+            for (int doc = 0; doc < next; doc++) {
+                if (movies[doc] != null) {
+                    live.add(movies[doc]);
+                }
+            }
+            reset(live.size());
+            live.forEach(this::add);
+        }
+    }
+
+    private void reset(int capacity) {
+        postings.clear();
+        docs.clear();
+        titles.clear();
+        movies = new Movie[Math.max(capacity, MIN_COMPACTION)];
+        normalized = new String[movies.length];
+        next = 0;
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static String titleKey(String title, int doc) {
+        return title + '\u0000' + doc;
+    }
+
+    private static long gram(String value, int start) {
+        return (long) value.charAt(start) << 32 | (long) value.charAt(start + 1) << 16 | value.charAt(start + 2);
+    }
+
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int size;
+
+        // Docs are added in increasing order, so a repeated trigram of the same title only has to check the last one.
+        private void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.reactivedata;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds {@link MovieTitleIndex} from Mongo when the application is ready and keeps it up to date with the saves and
+ * deletes made through this service. Writes made by other processes are picked up by the periodic rebuild
+ * ({@code fluxflix.search.rebuild-interval}, off by default).
+ */
+@Slf4j
+@Component
+public class MovieTitleIndexer extends AbstractMongoEventListener<Movie> {
+
+    private final MovieRepository movieRepository;
+    private final MovieTitleIndex movieTitleIndex;
+    private final Duration rebuildInterval;
+    private Disposable rebuilds;
+
+    public MovieTitleIndexer(MovieRepository movieRepository,
+                             MovieTitleIndex movieTitleIndex,
+                             @Value("${fluxflix.search.rebuild-interval:PT0S}") Duration rebuildInterval) {
+        this.movieRepository = movieRepository;
+        this.movieTitleIndex = movieTitleIndex;
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        var schedule = rebuildInterval.isZero() || rebuildInterval.isNegative()
+                ? Flux.just(0L)
+                : Flux.interval(Duration.ZERO, rebuildInterval);
+
+        rebuilds = schedule
+                .concatMap(tick -> rebuildLoggingErrors())
+                .subscribe();
+    }
+
+    public Mono<Integer> rebuild() {
+        return movieRepository.findAll()
+                .collectList()
+                .map(movies -> {
+                    movieTitleIndex.replaceAll(movies);
+                    return movies.size();
+                });
+    }
+
+    private Mono<Integer> rebuildLoggingErrors() {
+        return rebuild()
+                .onErrorResume(error -> {
+                    log.warn("Could not rebuild the title index", error);
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Movie> event) {
+        movieTitleIndex.put(event.getSource());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Movie> event) {
+        var filter = event.getSource();
+        var id = filter.get("_id");
+        if (filter.size() == 1 && id != null && !(id instanceof Map)) {
+            movieTitleIndex.remove(id.toString());
+        } else if (filter.isEmpty()) {
+            movieTitleIndex.replaceAll(List.of());
+        } else {
+            rebuildLoggingErrors().subscribe();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (rebuilds != null) {
+            rebuilds.dispose();
+        }
+    }
+}
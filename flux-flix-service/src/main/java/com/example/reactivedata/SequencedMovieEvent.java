@@ -0,0 +1,3 @@
+package com.example.reactivedata;
+
+public record SequencedMovieEvent(long id, MovieEvent event) { }
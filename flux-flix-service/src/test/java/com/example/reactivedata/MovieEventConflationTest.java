@@ -0,0 +1,84 @@
+package com.example.reactivedata;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MovieEventConflationTest {
+
+    private static final Movie MOVIE = new Movie("1", "Flux Gordon", "action");
+    private static final Duration SUMMARY_INTERVAL = Duration.ofMillis(300);
+
+    private final Sinks.Many<SequencedMovieEvent> events = Sinks.many().unicast().onBackpressureBuffer();
+
+    @Test
+    void latestSendsTheLatestEventWithTheSkippedCount() {
+        var conflation = new MovieEventConflation(ConflationMode.LATEST, SUMMARY_INTERVAL);
+
+        StepVerifier.create(conflation.conflate(events.asFlux()), 0)
+                .then(() -> emit(1, 2, 3))
+                .then(() -> assertEquals(1, conflation.laggingSubscribers()))
+                .thenRequest(1)
+                .expectNext(new MovieEventFrame(event(3), 2, false))
+                .thenRequest(1)
+                .then(() -> emit(4))
+                .expectNext(MovieEventFrame.of(event(4)))
+                .then(() -> assertEquals(0, conflation.laggingSubscribers()))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(2, conflation.delivered());
+        assertEquals(2, conflation.conflated());
+    }
+
+    @Test
+    void summarySendsOneFramePerIntervalUntilTheSubscriberKeepsUp() {
+        var conflation = new MovieEventConflation(ConflationMode.SUMMARY, SUMMARY_INTERVAL);
+
+        StepVerifier.create(conflation.conflate(events.asFlux()), 0)
+                .then(() -> emit(1, 2, 3))
+                .thenRequest(1)
+                .expectNext(new MovieEventFrame(event(3), 2, true))
+                // Demand is back, but the next summary waits for the interval.
+                .thenRequest(10)
+                .then(() -> emit(4, 5))
+                .expectNoEvent(SUMMARY_INTERVAL.dividedBy(2))
+                .expectNext(new MovieEventFrame(event(5), 1, true))
+                // It had demand for every event since the last summary, so it no longer lags.
+                .then(() -> assertEquals(0, conflation.laggingSubscribers()))
+                .then(() -> emit(6))
+                .expectNext(MovieEventFrame.of(event(6)))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(2, conflation.summaries());
+        assertEquals(3, conflation.conflated());
+    }
+
+    @Test
+    void offSendsEveryEvent() {
+        var conflation = new MovieEventConflation(ConflationMode.OFF, SUMMARY_INTERVAL);
+
+        StepVerifier.create(conflation.conflate(events.asFlux()), 0)
+                .then(() -> emit(1, 2))
+                .thenRequest(2)
+                .expectNext(MovieEventFrame.of(event(1)), MovieEventFrame.of(event(2)))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private void emit(long... ids) {
+        for (long id : ids) {
+            events.tryEmitNext(event(id));
+        }
+    }
+
+    private static SequencedMovieEvent event(long id) {
+        return new SequencedMovieEvent(id, new MovieEvent(MOVIE, new Date(0), "Maria"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.reactivedata;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MovieEventEncoderTest {
+
+    private static final Movie MOVIE = new Movie("1", "Flux Gordon", "action");
+
+    // The ObjectMapper Boot configures writes dates as ISO-8601 strings.
+    private final ObjectMapper objectMapper = new ObjectMapper().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final MovieEventEncoder encoder = new MovieEventEncoder(objectMapper, 2);
+
+    @Test
+    void timestampMatchesIsoInstantAndJackson() throws Exception {
+        var random = ThreadLocalRandom.current();
+        var instants = LongStream.concat(
+                LongStream.of(0, -1, 951_782_400_000L, 1_582_934_400_000L, 1_582_977_599_999L, 253_402_300_799_999L),
+                LongStream.generate(() -> random.nextLong(-2_208_988_800_000L, 4_102_444_800_000L)).limit(10_000));
+
+        for (long millis : instants.toArray()) {
+            var event = new MovieEvent(MOVIE, new Date(millis), "Maria");
+            var frame = frame(new SequencedMovieEvent(7, event));
+
+            String when = frame.substring(frame.indexOf("\"when\":\"") + 8, frame.indexOf("\",\"user\""));
+            assertEquals(Instant.ofEpochMilli(millis), DateTimeFormatter.ISO_INSTANT.parse(when, Instant::from), when);
+            assertEquals("id:7\ndata:" + objectMapper.writeValueAsString(event) + "\n\n", frame);
+        }
+    }
+
+    @Test
+    void encodedLengthMatchesTheFrameWithoutCachingTheMovie() {
+        var sequenced = new SequencedMovieEvent(1_642_500_000_000_000L, new MovieEvent(MOVIE, new Date(), "Maria"));
+
+        int length = encoder.encodedLength(sequenced);
+        assertEquals(0, encoder.cachedMovies());
+        assertEquals(frame(sequenced).getBytes(StandardCharsets.UTF_8).length, length);
+        assertEquals(1, encoder.cachedMovies());
+    }
+
+    @Test
+    void fullMovieCacheStartsOver() {
+        for (int i = 0; i < 3; i++) {
+            var movie = new Movie(String.valueOf(i), "Movie " + i, "drama");
+            frame(new SequencedMovieEvent(i, new MovieEvent(movie, new Date(), "Maria")));
+        }
+        assertEquals(1, encoder.cachedMovies());
+    }
+
+    private String frame(SequencedMovieEvent sequenced) {
+        DataBuffer buffer = encoder.encode(sequenced, DefaultDataBufferFactory.sharedInstance);
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.reactivedata;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MovieEventReplayTest {
+
+    private static final Movie MOVIE = new Movie("1", "Flux Gordon", "action");
+
+    private final MovieEventReplay replay = new MovieEventReplay(new MovieEventEncoder(new ObjectMapper(), 10),
+            5, Long.MAX_VALUE, Duration.ofMinutes(5));
+    private final Sinks.Many<SequencedMovieEvent> live = Sinks.many().multicast().directBestEffort();
+
+    @AfterEach
+    void tearDown() {
+        replay.close();
+    }
+
+    @Test
+    void resumesInsideTheBuffer() {
+        var events = IntStream.range(0, 4).mapToObj(i -> append()).toList();
+
+        StepVerifier.create(replay.resume(MOVIE.id(), events.get(1).id(), live.asFlux()))
+                .expectNext(events.get(2), events.get(3))
+                .then(() -> publish(append()))
+                .expectNextMatches(event -> event.id() == events.get(3).id() + 1)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void resumesFromTheOldestBufferedEventOnceTheIdWasEvicted() {
+        var events = IntStream.range(0, 8).mapToObj(i -> append()).toList();
+        assertEquals(5, replay.bufferedEvents());
+
+        StepVerifier.create(replay.resume(MOVIE.id(), events.get(0).id(), live.asFlux()))
+                .expectNext(events.get(3), events.get(4), events.get(5), events.get(6), events.get(7))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void fillsTheGapBetweenReplayAndLiveEventsOnce() {
+        var first = append();
+        var second = append();
+        var third = append();
+
+        StepVerifier.create(replay.resume(MOVIE.id(), first.id(), live.asFlux()), 0)
+                .thenRequest(1)
+                .expectNext(second)
+                // Appended while the buffered events are still replayed, before the live subscription exists.
+                .then(() -> {
+                    publish(append());
+                    publish(append());
+                })
+                .thenRequest(10)
+                .expectNext(third)
+                .then(() -> publish(append()))
+                .expectNextMatches(event -> event.id() == third.id() + 1)
+                .expectNextMatches(event -> event.id() == third.id() + 2)
+                .expectNextMatches(event -> event.id() == third.id() + 3)
+                // A live event the subscriber has already seen is not sent again.
+                .then(() -> {
+                    publish(third);
+                    publish(append());
+                })
+                .expectNextMatches(event -> event.id() == third.id() + 4)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void liveSubscriberGetsOnlyLiveEvents() {
+        append();
+
+        StepVerifier.create(replay.resume(MOVIE.id(), null, live.asFlux()))
+                .then(() -> publish(append()))
+                .expectNextCount(1)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private SequencedMovieEvent append() {
+        return replay.append(MOVIE.id(), new MovieEvent(MOVIE, new Date(), "Maria"));
+    }
+
+    private void publish(SequencedMovieEvent event) {
+        live.tryEmitNext(event);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.reactivedata;
+
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.web.reactive.function.server.RouterFunction;
+
+/**
+ * Registers the FluxFlix beans with suppliers, so {@link FastStartupApplication} needs neither component scanning nor
+ * reflective constructor resolution.
+ */
+public class FluxFlixInitializer implements ApplicationContextInitializer<GenericApplicationContext> {
+
+    @Override
+    public void initialize(GenericApplicationContext context) {
+        context.registerBean(FluxFlixService.class, () -> new FluxFlixService(context.getBean(MovieRepository.class)));
+        context.registerBean(FluxFlixMetrics.class, () -> new FluxFlixMetrics(context.getBean(FluxFlixService.class)));
+        context.registerBean("routes", RouterFunction.class,
+                () -> ReactiveDataApplication.routes(context.getBean(FluxFlixService.class)));
+    }
+}
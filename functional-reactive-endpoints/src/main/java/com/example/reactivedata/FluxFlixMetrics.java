@@ -0,0 +1,21 @@
+package com.example.reactivedata;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class FluxFlixMetrics implements MeterBinder {
+
+    private final FluxFlixService fluxFlixService;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("fluxflix.sse.connections", fluxFlixService, FluxFlixService::activeStreams)
+                .description("Open /movies/{id}/events streams")
+                .register(registry);
+    }
+}
@@ -9,26 +9,46 @@ import reactor.util.function.Tuple2;
 import java.time.Duration;
 import java.util.Date;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 @Service
 public class FluxFlixService {
 
+    // Meters are named fluxflix.movies.*, tagged by operation but not by movie, to keep cardinality fixed.
+    static final String METRICS_NAME = "fluxflix.movies";
+
     private final MovieRepository movieRepository;
+    private final AtomicInteger activeStreams = new AtomicInteger();
 
     public Flux<MovieEvent> streamStreams(Movie movie) {
         var interval = Flux.interval(Duration.ofSeconds(1));
         var events = Flux.fromStream(Stream.generate(() -> new MovieEvent(movie, new Date(), randomUser())));
-        return Flux.zip(interval, events).map(Tuple2::getT2);
+        return Flux.zip(interval, events).map(Tuple2::getT2)
+                .doOnSubscribe(subscription -> activeStreams.incrementAndGet())
+                .doFinally(signal -> activeStreams.decrementAndGet())
+                .name(METRICS_NAME)
+                .tag("operation", "stream-streams")
+                .metrics();
     }
 
     public Flux<Movie> findAll() {
-        return movieRepository.findAll();
+        return movieRepository.findAll()
+                .name(METRICS_NAME)
+                .tag("operation", "find-all")
+                .metrics();
     }
 
     public Mono<Movie> findById(String id) {
-        return movieRepository.findById(id);
+        return movieRepository.findById(id)
+                .name(METRICS_NAME)
+                .tag("operation", "find-by-id")
+                .metrics();
+    }
+
+    public int activeStreams() {
+        return activeStreams.get();
     }
 
     public String randomUser() {
@@ -0,0 +1,171 @@
+package com.example.reactivedata;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Component
+@ConditionalOnProperty(prefix = "catalog.import", name = "file")
+public class CatalogImporter {
+
+	private static final int MAX_RECORD_LENGTH = 1024 * 1024;
+
+	private final MovieRepository movieRepository;
+	private final ObjectMapper objectMapper;
+	private final Path file;
+	private final Path checkpoint;
+	private final boolean csv;
+	private final int chunkSize;
+	private final int batchSize;
+	private final int concurrency;
+
+	public CatalogImporter(MovieRepository movieRepository,
+						   ObjectMapper objectMapper,
+						   @Value("${catalog.import.file}") Path file,
+						   @Value("${catalog.import.checkpoint:}") String checkpoint,
+						   @Value("${catalog.import.format:}") String format,
+						   @Value("${catalog.import.chunk-size:65536}") int chunkSize,
+						   @Value("${catalog.import.batch-size:1000}") int batchSize,
+						   @Value("${catalog.import.concurrency:2}") int concurrency) {
+		this.movieRepository = movieRepository;
+		this.objectMapper = objectMapper;
+		this.file = file;
+		this.checkpoint = checkpoint.isBlank() ? Path.of(file + ".offset") : Path.of(checkpoint);
+		this.csv = format.isBlank() ? file.toString().toLowerCase().endsWith(".csv") : format.equalsIgnoreCase("csv");
+		this.chunkSize = chunkSize;
+		this.batchSize = batchSize;
+		this.concurrency = concurrency;
+	}
+
+	public Flux<ImportProgress> run() {
+		return readCheckpoint().flatMapMany(this::importFrom);
+	}
+
+	private Flux<ImportProgress> importFrom(long startOffset) {
+		return Flux.defer(() -> {
+			var splitter = new RecordSplitter(startOffset, MAX_RECORD_LENGTH);
+			long fileSize = size();
+			var imported = new AtomicLong();
+
+			return DataBufferUtils.readAsynchronousFileChannel(
+							() -> AsynchronousFileChannel.open(file, StandardOpenOption.READ),
+							startOffset,
+							DefaultDataBufferFactory.sharedInstance,
+							chunkSize)
+					.concatMapIterable(splitter::split)
+					.concatWith(Mono.defer(() -> Mono.justOrEmpty(splitter.finish())))
+					.buffer(batchSize)
+					.flatMapSequential(this::write, concurrency)
+					.concatMap(batch -> writeCheckpoint(batch.endOffset()).thenReturn(batch))
+					.map(batch -> new ImportProgress(imported.addAndGet(batch.movies()), batch.endOffset(), fileSize));
+		});
+	}
+
+	private Mono<Batch> write(List<RecordSplitter.Record> records) {
+		var movies = records.stream().flatMap(this::toMovie).toList();
+		long endOffset = records.get(records.size() - 1).endOffset();
+
+		return movieRepository.insert(movies)
+				.then()
+				.onErrorResume(DuplicateKeyException.class, e -> movieRepository.saveAll(movies).then())
+				.thenReturn(new Batch(movies.size(), endOffset));
+	}
+
+	private Stream<Movie> toMovie(RecordSplitter.Record record) {
+		var text = record.text().strip();
+		if (text.isEmpty()) {
+			return Stream.empty();
+		}
+		if (csv) {
+			var fields = parseCsv(text);
+			return fields.get(0).equals("id") ? Stream.empty() : Stream.of(new Movie(fields.get(0), fields.get(1), fields.get(2)));
+		}
+		try {
+			return Stream.of(objectMapper.readValue(text, Movie.class));
+		} catch (JsonProcessingException e) {
+			throw new IllegalArgumentException("Invalid record ending at offset " + record.endOffset(), e);
+		}
+	}
+
+	private List<String> parseCsv(String line) {
+		var fields = new ArrayList<String>(3);
+		var field = new StringBuilder();
+		boolean quoted = false;
+
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					field.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		fields.add(field.toString());
+
+		if (fields.size() != 3) {
+			throw new IllegalArgumentException("Expected id,title,genre but got: " + line);
+		}
+		return fields;
+	}
+
+	private Mono<Long> readCheckpoint() {
+		return Mono.fromCallable(() -> Files.exists(checkpoint)
+						? Long.parseLong(Files.readString(checkpoint).strip())
+						: 0L)
+				.subscribeOn(Schedulers.boundedElastic());
+	}
+
+	private Mono<Void> writeCheckpoint(long offset) {
+		return Mono.fromCallable(() -> Files.writeString(checkpoint, Long.toString(offset)))
+				.subscribeOn(Schedulers.boundedElastic())
+				.then();
+	}
+
+	private long size() {
+		try {
+			return Files.size(file);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private record Batch(int movies, long endOffset) { }
+
+	public record ImportProgress(long movies, long offset, long fileSize) {
+
+		public double percent() {
+			return fileSize == 0 ? 100.0 : offset * 100.0 / fileSize;
+		}
+	}
+}
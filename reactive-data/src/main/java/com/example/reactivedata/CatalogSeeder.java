@@ -0,0 +1,96 @@
+package com.example.reactivedata;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(prefix = "catalog.seed", name = "scale")
+public class CatalogSeeder {
+
+	private static final long MOVIES_PER_SCALE = 1_000_000L;
+
+	private static final String[] ADJECTIVES = {"Reactive", "Silent", "Eternal", "Lazy", "Hot", "Cold", "Blocking", "Async"};
+	private static final String[] NOUNS = {"Flux", "Mono", "Lambda", "Stream", "Publisher", "Subscriber", "Scheduler", "Sink"};
+	private static final String[] GENRES = {"horror", "romcom", "drama", "action", "documentary"};
+
+	private final MovieRepository movieRepository;
+	private final long movies;
+	private final long randomSeed;
+	private final int batchSize;
+	private final int concurrency;
+
+	public CatalogSeeder(MovieRepository movieRepository,
+						 @Value("${catalog.seed.scale}") double scale,
+						 @Value("${catalog.seed.random-seed:42}") long randomSeed,
+						 @Value("${catalog.seed.batch-size:1000}") int batchSize,
+						 @Value("${catalog.seed.concurrency:4}") int concurrency) {
+		this.movieRepository = movieRepository;
+		this.movies = Math.max(1L, Math.round(scale * MOVIES_PER_SCALE));
+		this.randomSeed = randomSeed;
+		this.batchSize = batchSize;
+		this.concurrency = concurrency;
+	}
+
+	public Mono<SeedReport> seed() {
+		long batches = (movies + batchSize - 1) / batchSize;
+
+		return Mono.defer(() -> {
+			long start = System.nanoTime();
+
+			return movieRepository.deleteAll()
+					.thenMany(Flux.range(0, Math.toIntExact(batches)))
+					.flatMap(this::insertBatch, concurrency)
+					.collectList()
+					.map(latencies -> SeedReport.of(movies, System.nanoTime() - start, latencies));
+		});
+	}
+
+	private Mono<Long> insertBatch(int batch) {
+		var movieBatch = generate(batch);
+
+		return Mono.defer(() -> {
+			long start = System.nanoTime();
+			return movieRepository.insert(movieBatch)
+					.then(Mono.fromSupplier(() -> System.nanoTime() - start));
+		});
+	}
+
+	private List<Movie> generate(int batch) {
+		long first = (long) batch * batchSize;
+		int size = (int) Math.min(batchSize, movies - first);
+		var random = new SplittableRandom(randomSeed + first);
+		var movieBatch = new ArrayList<Movie>(size);
+
+		for (int i = 0; i < size; i++) {
+			var title = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+					+ NOUNS[random.nextInt(NOUNS.length)] + " " + (first + i);
+			movieBatch.add(new Movie(
+					new UUID(random.nextLong(), random.nextLong()).toString(),
+					title,
+					GENRES[random.nextInt(GENRES.length)]));
+		}
+		return movieBatch;
+	}
+
+	public record SeedReport(long documents, Duration elapsed, double documentsPerSecond, Duration p99BatchLatency) {
+
+		static SeedReport of(long documents, long elapsedNanos, List<Long> batchLatencies) {
+			var sorted = batchLatencies.stream().mapToLong(Long::longValue).sorted().toArray();
+			long p99 = sorted.length == 0 ? 0 : sorted[(int) Math.ceil(sorted.length * 0.99) - 1];
+
+			return new SeedReport(documents,
+					Duration.ofNanos(elapsedNanos),
+					documents / (elapsedNanos / 1_000_000_000.0),
+					Duration.ofNanos(p99));
+		}
+	}
+}
@@ -1,20 +1,26 @@
 package com.example.reactivedata;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 
-import java.util.Random;
+import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Stream;
 
 @SpringBootApplication
 @RequiredArgsConstructor
 public class ReactiveDataApplication {
 
+	private static final String[] GENRES = "horror,romcom,drama,action,documentary".split(",");
+
 	private final MovieRepository movieRepository;
+	private final ObjectProvider<CatalogSeeder> catalogSeeder;
+	private final ObjectProvider<CatalogImporter> catalogImporter;
 
 	public static void main(String[] args) {
 		SpringApplication.run(ReactiveDataApplication.class, args);
@@ -22,6 +28,20 @@ public class ReactiveDataApplication {
 
 	@EventListener(ApplicationReadyEvent.class)
 	public void init() {
+		var importer = catalogImporter.getIfAvailable();
+		if (importer != null) {
+			importer.run()
+					.sample(Duration.ofSeconds(5))
+					.subscribe(System.out::println);
+			return;
+		}
+
+		var seeder = catalogSeeder.getIfAvailable();
+		if (seeder != null) {
+			seeder.seed().subscribe(System.out::println);
+			return;
+		}
+
 		Runnable create = () -> Stream.of("Aeon Flux",
 				"Enter the Mono<Void>",
 				"The Fluxinator",
@@ -34,7 +54,6 @@ public class ReactiveDataApplication {
 	}
 
 	private String randomGenre() {
-		String genres[] = "horror,romcom,drama,action,documentary".split(",");
-		return genres[new Random().nextInt(genres.length)];
+		return GENRES[ThreadLocalRandom.current().nextInt(GENRES.length)];
 	}
 }
@@ -0,0 +1,62 @@
+package com.example.reactivedata;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+class RecordSplitter {
+
+	private final int maxRecordLength;
+	private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+	private long chunkOffset;
+
+	RecordSplitter(long startOffset, int maxRecordLength) {
+		this.chunkOffset = startOffset;
+		this.maxRecordLength = maxRecordLength;
+	}
+
+	List<Record> split(DataBuffer buffer) {
+		try {
+			var bytes = new byte[buffer.readableByteCount()];
+			buffer.read(bytes);
+
+			var records = new ArrayList<Record>();
+			int lineStart = 0;
+			for (int i = 0; i < bytes.length; i++) {
+				if (bytes[i] == '\n') {
+					pending.write(bytes, lineStart, i - lineStart);
+					records.add(new Record(take(), chunkOffset + i + 1));
+					lineStart = i + 1;
+				}
+			}
+			pending.write(bytes, lineStart, bytes.length - lineStart);
+			chunkOffset += bytes.length;
+
+			if (pending.size() > maxRecordLength) {
+				throw new IllegalStateException("Record at offset " + (chunkOffset - pending.size())
+						+ " is longer than " + maxRecordLength + " bytes");
+			}
+			return records;
+		} finally {
+			DataBufferUtils.release(buffer);
+		}
+	}
+
+	Optional<Record> finish() {
+		return pending.size() == 0 ? Optional.empty() : Optional.of(new Record(take(), chunkOffset));
+	}
+
+	private String take() {
+		var bytes = pending.toByteArray();
+		pending.reset();
+		int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+		return new String(bytes, 0, length, StandardCharsets.UTF_8);
+	}
+
+	record Record(String text, long endOffset) { }
+}
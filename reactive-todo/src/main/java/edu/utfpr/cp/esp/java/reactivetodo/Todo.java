@@ -1,8 +1,10 @@
 package edu.utfpr.cp.esp.java.reactivetodo;
 
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document
+@CompoundIndex(name = "feito_id", def = "{'feito': 1, '_id': 1}")
 public record Todo (String id, String titulo, String descricao, Boolean feito)  { 
     public Todo {
         if (titulo == null || titulo.length() < 3) {
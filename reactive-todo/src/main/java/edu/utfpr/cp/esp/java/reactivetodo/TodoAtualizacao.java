@@ -0,0 +1,9 @@
+package edu.utfpr.cp.esp.java.reactivetodo;
+
+public record TodoAtualizacao (String titulo, String descricao) {
+    public TodoAtualizacao {
+        if (titulo != null && titulo.length() < 3) {
+            throw new IllegalArgumentException("Um título maior que 3 caracteres é necessário.");
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package edu.utfpr.cp.esp.java.reactivetodo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TodoIngestao (String tipo, Long lote, Integer inseridos, Long indice, String erro) {
+
+    public static TodoIngestao lote(long lote, int inseridos) {
+        return new TodoIngestao("lote", lote, inseridos, null, null);
+    }
+
+    public static TodoIngestao loteFalhou(long lote, int inseridos, String erro) {
+        return new TodoIngestao("lote", lote, inseridos, null, erro);
+    }
+
+    public static TodoIngestao rejeitado(long indice, String erro) {
+        return new TodoIngestao("rejeitado", null, null, indice, erro);
+    }
+}
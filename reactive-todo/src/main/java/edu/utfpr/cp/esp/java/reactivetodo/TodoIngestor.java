@@ -0,0 +1,125 @@
+package edu.utfpr.cp.esp.java.reactivetodo;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+@Component
+public class TodoIngestor {
+
+    private static final Object FECHAR_LOTE = new Object();
+
+    private final TodoRepository repository;
+    private final ObjectMapper mapper;
+    private final int tamanhoLote;
+    private final Duration intervalo;
+
+    public TodoIngestor (TodoRepository repository, 
+                         ObjectMapper mapper, 
+                         @Value("${todo.ingestao.tamanho-lote:500}") int tamanhoLote, 
+                         @Value("${todo.ingestao.intervalo:PT1S}") Duration intervalo) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.tamanhoLote = tamanhoLote;
+        this.intervalo = intervalo;
+    }
+
+    // Cada linha é lida como texto e convertida aqui, então uma linha malformada vira rejeição em vez de
+    // derrubar a requisição inteira. Linhas em branco são ignoradas, mas contam para o índice.
+    public Flux<TodoIngestao> ingerir(Flux<String> linhas) {
+        return linhas
+                .index()
+                .filter(linha -> !linha.getT2().isBlank())
+                .map(this::validar)
+                .publish(itens -> Flux.merge(
+                    itens
+                        .filter(Item::rejeitado)
+                        .map(Item::rejeicao),
+                    lotes(itens
+                            .filter(item -> !item.rejeitado())
+                            .map(Item::todo))
+                        .index()
+                        .concatMap(this::inserir)));
+    }
+
+    private Item validar(Tuple2<Long, String> registro) {
+        try {
+            return new Item(mapper.readValue(registro.getT2(), Todo.class), null);
+        } catch (JsonProcessingException e) {
+            var erro = e.getCause() != null ? e.getCause().getMessage() : e.getOriginalMessage();
+            return new Item(null, TodoIngestao.rejeitado(registro.getT1(), erro));
+        }
+    }
+
+    private Flux<List<Todo>> lotes(Flux<Todo> todos) {
+        return todos.publish(compartilhado -> Flux.defer(() -> {
+            var tamanhoAtual = new int[1];
+
+            var fechamentos = Flux
+                                .interval(intervalo)
+                                .onBackpressureDrop()
+                                .map(tick -> FECHAR_LOTE)
+                                .takeUntilOther(compartilhado.ignoreElements());
+
+            return Flux
+                    .<Object>merge(compartilhado, fechamentos)
+                    .bufferUntil(item -> {
+                        if (item == FECHAR_LOTE || ++tamanhoAtual[0] >= tamanhoLote) {
+                            tamanhoAtual[0] = 0;
+                            return true;
+                        }
+                        return false;
+                    })
+                    .map(this::semMarcadores)
+                    .filter(lote -> !lote.isEmpty());
+        }));
+    }
+
+    private List<Todo> semMarcadores(List<Object> itens) {
+        var lote = new ArrayList<Todo>(itens.size());
+        for (Object item : itens) {
+            if (item != FECHAR_LOTE) {
+                lote.add((Todo) item);
+            }
+        }
+        return lote;
+    }
+
+    private Mono<TodoIngestao> inserir(Tuple2<Long, List<Todo>> lote) {
+        var inseridos = new AtomicLong();
+
+        return repository
+                .insert(lote.getT2())
+                .doOnNext(todo -> inseridos.incrementAndGet())
+                .then(Mono.fromSupplier(() -> TodoIngestao.lote(lote.getT1(), (int) inseridos.get())))
+                .onErrorResume(e -> Mono.just(TodoIngestao.loteFalhou(lote.getT1(), inseridos(e, inseridos.get()), e.getMessage())));
+    }
+
+    // Num insert ordenado, os documentos anteriores ao erro já foram gravados; o driver informa quantos.
+    private static int inseridos(Throwable erro, long contados) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            if (causa instanceof MongoBulkWriteException bulk && bulk.getWriteResult().wasAcknowledged()) {
+                return bulk.getWriteResult().getInsertedCount();
+            }
+        }
+        return (int) contados;
+    }
+
+    private record Item (Todo todo, TodoIngestao rejeicao) {
+        boolean rejeitado() {
+            return rejeicao != null;
+        }
+    }
+}
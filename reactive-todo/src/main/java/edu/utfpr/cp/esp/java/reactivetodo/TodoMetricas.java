@@ -0,0 +1,43 @@
+package edu.utfpr.cp.esp.java.reactivetodo;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Component
+public class TodoMetricas implements MeterBinder {
+
+    private final TodoWriteBehind writeBehind;
+
+    public TodoMetricas (TodoWriteBehind writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registro) {
+        Gauge.builder("todo.write-behind.pendentes", writeBehind, TodoWriteBehind::pendentes)
+            .register(registro);
+
+        FunctionCounter.builder("todo.write-behind.mutacoes", writeBehind, TodoWriteBehind::recebidas)
+            .tag("estado", "recebida")
+            .register(registro);
+        FunctionCounter.builder("todo.write-behind.mutacoes", writeBehind, TodoWriteBehind::coalescidas)
+            .tag("estado", "coalescida")
+            .register(registro);
+        FunctionCounter.builder("todo.write-behind.mutacoes", writeBehind, TodoWriteBehind::enviadas)
+            .tag("estado", "enviada")
+            .register(registro);
+        FunctionCounter.builder("todo.write-behind.mutacoes", writeBehind, TodoWriteBehind::rejeitadas)
+            .tag("estado", "rejeitada")
+            .register(registro);
+        FunctionCounter.builder("todo.write-behind.mutacoes", writeBehind, TodoWriteBehind::falhas)
+            .tag("estado", "falha")
+            .register(registro);
+
+        FunctionCounter.builder("todo.write-behind.lotes", writeBehind, TodoWriteBehind::lotes)
+            .register(registro);
+    }
+}
@@ -0,0 +1,35 @@
+package edu.utfpr.cp.esp.java.reactivetodo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+public record TodoPage (List<Todo> items, String next) {
+
+    public static TodoPage of(List<Todo> fetched, int limit) {
+        if (fetched.size() <= limit) {
+            return new TodoPage(fetched, null);
+        }
+
+        var items = fetched.subList(0, limit);
+        return new TodoPage(items, encode(items.get(limit - 1).id()));
+    }
+
+    public static String encode(String id) {
+        return Base64.getUrlEncoder()
+                    .withoutPadding()
+                    .encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido.", e);
+        }
+    }
+}
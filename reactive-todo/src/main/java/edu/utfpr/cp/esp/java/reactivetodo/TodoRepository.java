@@ -1,5 +1,6 @@
 package edu.utfpr.cp.esp.java.reactivetodo;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -7,7 +8,15 @@ import reactor.core.publisher.Flux;
 
 @Repository
 public interface TodoRepository 
-        extends ReactiveMongoRepository<Todo, String> {
+        extends ReactiveMongoRepository<Todo, String>, TodoRepositoryCustom {
 
     Flux<Todo> findByFeito(boolean feito); 
-}
\ No newline at end of file
+
+    Flux<Todo> findAllBy(Pageable pageable);
+
+    Flux<Todo> findByFeito(boolean feito, Pageable pageable);
+
+    Flux<Todo> findByIdGreaterThan(String id, Pageable pageable);
+
+    Flux<Todo> findByFeitoAndIdGreaterThan(boolean feito, String id, Pageable pageable);
+}
@@ -0,0 +1,10 @@
+package edu.utfpr.cp.esp.java.reactivetodo;
+
+import reactor.core.publisher.Mono;
+
+public interface TodoRepositoryCustom {
+
+    Mono<TodoVersionado> alternarFeito(String id, Long versao);
+
+    Mono<TodoVersionado> atualizarParcial(String id, TodoAtualizacao atualizacao, Long versao);
+}
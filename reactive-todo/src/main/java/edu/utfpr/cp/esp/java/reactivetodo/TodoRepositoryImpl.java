@@ -0,0 +1,65 @@
+package edu.utfpr.cp.esp.java.reactivetodo;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.BooleanOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import reactor.core.publisher.Mono;
+
+public class TodoRepositoryImpl implements TodoRepositoryCustom {
+
+    private final ReactiveMongoTemplate template;
+
+    public TodoRepositoryImpl (ReactiveMongoTemplate template) {
+        this.template = template;
+    }
+
+    @Override
+    public Mono<TodoVersionado> alternarFeito(String id, Long versao) {
+        var update = AggregationUpdate.update()
+                        .set("feito").toValue(BooleanOperators.Not.not("feito"))
+                        .set("versao").toValue(
+                            ArithmeticOperators
+                                .valueOf(ConditionalOperators.ifNull("versao").then(0L))
+                                .add(1));
+
+        return modificar(id, versao, update);
+    }
+
+    @Override
+    public Mono<TodoVersionado> atualizarParcial(String id, TodoAtualizacao atualizacao, Long versao) {
+        var update = new Update().inc("versao", 1L);
+
+        if (atualizacao.titulo() != null) {
+            update.set("titulo", atualizacao.titulo());
+        }
+
+        if (atualizacao.descricao() != null) {
+            update.set("descricao", atualizacao.descricao());
+        }
+
+        return modificar(id, versao, update);
+    }
+
+    private Mono<TodoVersionado> modificar(String id, Long versao, UpdateDefinition update) {
+        var criteria = where("id").is(id);
+
+        if (versao != null) {
+            criteria = criteria.and("versao").is(versao);
+        }
+
+        return template.findAndModify(
+                    Query.query(criteria), 
+                    update, 
+                    FindAndModifyOptions.options().returnNew(true), 
+                    TodoVersionado.class);
+    }
+}
@@ -2,16 +2,24 @@ package edu.utfpr.cp.esp.java.reactivetodo;
 
 import java.time.Duration;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.reactive.function.client.WebClient.ResponseSpec;
+import org.springframework.web.server.ResponseStatusException;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -19,20 +27,69 @@ import reactor.core.publisher.Mono;
 @RestController
 public class TodoRestController {
 
+    private static final int LIMITE_MAXIMO = 1000;
+    private static final String METRICAS_CONSULTAS = "todo.consultas";
+
     private final TodoRepository repository;
+    private final TodoIngestor ingestor;
+    private final TodoWriteBehind writeBehind;
 
-    public TodoRestController (TodoRepository repository) {
+    public TodoRestController (TodoRepository repository, TodoIngestor ingestor, TodoWriteBehind writeBehind) {
         this.repository = repository;
+        this.ingestor = ingestor;
+        this.writeBehind = writeBehind;
     }
     
     @GetMapping("/todos")
     public ResponseEntity<Flux<Todo>> lerTodos() {
-        return ResponseEntity.ok(repository.findAll());
+        return ResponseEntity.ok(medir(repository.findAll(), "findAll"));
     }
 
     @GetMapping("/todos/{feito}")
     public ResponseEntity<Flux<Todo>> lerByFeito(@PathVariable boolean feito)  {
-        return ResponseEntity.ok(repository.findByFeito(feito));
+        return ResponseEntity.ok(medir(repository.findByFeito(feito), "findByFeito"));
+    }
+
+    @GetMapping(value = "/todos", params = "limit")
+    public Mono<TodoPage> lerPagina(@RequestParam int limit, 
+                                    @RequestParam(required = false) String cursor) {
+        int limite = limite(limit);
+        var depoisDe = depoisDe(cursor);
+
+        // Sem cursor não há o que comparar: {_id: {$gt: ""}} só encontraria ids do tipo string, não ObjectIds.
+        var consulta = depoisDe == null
+                        ? medir(repository.findAllBy(pagina(limite)), "findAllBy")
+                        : medir(repository.findByIdGreaterThan(depoisDe, pagina(limite)), "findByIdGreaterThan");
+
+        return consulta
+                .collectList()
+                .map(todos -> TodoPage.of(todos, limite));
+    }
+
+    @GetMapping(value = "/todos/{feito}", params = "limit")
+    public Mono<TodoPage> lerPaginaByFeito(@PathVariable boolean feito, 
+                                           @RequestParam int limit, 
+                                           @RequestParam(required = false) String cursor) {
+        int limite = limite(limit);
+        var depoisDe = depoisDe(cursor);
+
+        var consulta = depoisDe == null
+                        ? medir(repository.findByFeito(feito, pagina(limite)), "findByFeito")
+                        : medir(repository.findByFeitoAndIdGreaterThan(feito, depoisDe, pagina(limite)), "findByFeitoAndIdGreaterThan");
+
+        return consulta
+                .collectList()
+                .map(todos -> TodoPage.of(todos, limite));
+    }
+
+    @GetMapping(value = "/todos", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Todo> streamTodos() {
+        return medir(repository.findAll(), "findAll");
+    }
+
+    @GetMapping(value = "/todos/{feito}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Todo> streamByFeito(@PathVariable boolean feito) {
+        return medir(repository.findByFeito(feito), "findByFeito");
     }
 
     @PostMapping("/todo")
@@ -40,26 +97,101 @@ public class TodoRestController {
         return ResponseEntity.status(HttpStatus.CREATED).body(repository.save(todo));
     }
 
+    @PostMapping(value = "/todos", 
+                 consumes = MediaType.APPLICATION_NDJSON_VALUE, 
+                 produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TodoIngestao> ingerir(@RequestBody Flux<String> linhas) {
+        return ingestor.ingerir(linhas);
+    }
+
     @DeleteMapping("/todo/{id}")
-    public ResponseEntity deletar(@PathVariable String id) {
-        
-        repository.deleteById(id).onTerminateDetach();
-        return ResponseEntity.ok().build();
+    public Mono<ResponseEntity<Void>> deletar(@PathVariable String id) {
+
+        if (writeBehind.ativo()) {
+            return Mono.fromSupplier(() -> aceito(writeBehind.deletar(id)));
+        }
+
+        return repository
+                .deleteById(id)
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok().<Void>build()));
     }
 
     @PutMapping("/todo/{id}")
-    public ResponseEntity<Mono<Todo>> atualizar(@PathVariable String id) {
+    public Mono<ResponseEntity<Todo>> atualizar(@PathVariable String id, 
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        return ResponseEntity
-                .ok(repository
-                    .findById(id)
-                    .map(todoAtual ->  new Todo(id, 
-                                                todoAtual.titulo(), 
-                                                todoAtual.descricao(), 
-                                                !todoAtual.feito()))
-                    .flatMap(repository::save)
-                    .onTerminateDetach());
+        if (writeBehind.ativo() && ifMatch == null) {
+            return Mono.fromSupplier(() -> aceito(writeBehind.alternarFeito(id)));
+        }
+
+        return responder(id, repository.alternarFeito(id, versao(ifMatch)), ifMatch);
     }
 
-    
+    @PatchMapping("/todo/{id}")
+    public Mono<ResponseEntity<Todo>> atualizarParcial(@PathVariable String id, 
+                                                       @RequestBody TodoAtualizacao atualizacao, 
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        return responder(id, repository.atualizarParcial(id, atualizacao, versao(ifMatch)), ifMatch);
+    }
+
+    private static <T> Flux<T> medir(Flux<T> consulta, String nome) {
+        return consulta
+                .name(METRICAS_CONSULTAS)
+                .tag("consulta", nome)
+                .metrics();
+    }
+
+    private Mono<ResponseEntity<Todo>> responder(String id, Mono<TodoVersionado> atualizado, String ifMatch) {
+        // Sem resultado com If-Match: 412 se o todo existe em outra versão, 404 se ele não existe.
+        var semResultado = ifMatch == null
+                            ? Mono.just(HttpStatus.NOT_FOUND)
+                            : Mono.defer(() -> repository.existsById(id))
+                                    .map(existe -> existe ? HttpStatus.PRECONDITION_FAILED : HttpStatus.NOT_FOUND);
+
+        return atualizado
+                .map(todo -> ResponseEntity
+                                .ok()
+                                .eTag(String.valueOf(todo.versao()))
+                                .body(todo.todo()))
+                .switchIfEmpty(semResultado.map(status -> ResponseEntity.status(status).<Todo>build()));
+    }
+
+    private <T> ResponseEntity<T> aceito(boolean registrado) {
+        if (!registrado) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Fila de escrita cheia.");
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    private Long versao(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+
+        try {
+            return Long.valueOf(ifMatch.replace("W/", "").replace("\"", "").trim());
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match inválido.", e);
+        }
+    }
+
+    private int limite(int limit) {
+        if (limit < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O limite deve ser maior que zero.");
+        }
+        return Math.min(limit, LIMITE_MAXIMO);
+    }
+
+    private String depoisDe(String cursor) {
+        try {
+            return TodoPage.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    private PageRequest pagina(int limite) {
+        return PageRequest.of(0, limite + 1, Sort.by("id"));
+    }
 }
@@ -0,0 +1,11 @@
+package edu.utfpr.cp.esp.java.reactivetodo;
+
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document("todo")
+public record TodoVersionado (String id, String titulo, String descricao, Boolean feito, Long versao) {
+
+    public Todo todo() {
+        return new Todo(id, titulo, descricao, feito);
+    }
+}
@@ -0,0 +1,201 @@
+package edu.utfpr.cp.esp.java.reactivetodo;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@Component
+public class TodoWriteBehind {
+
+    private final ReactiveMongoTemplate template;
+    private final boolean ativo;
+    private final Duration janela;
+    private final int capacidade;
+
+    private Map<String, Mutacao> pendentes = new HashMap<>();
+    private final Sinks.Empty<Void> parar = Sinks.empty();
+    private Mono<Void> descarga = Mono.empty();
+
+    private final AtomicLong recebidas = new AtomicLong();
+    private final AtomicLong coalescidas = new AtomicLong();
+    private final AtomicLong enviadas = new AtomicLong();
+    private final AtomicLong lotes = new AtomicLong();
+    private final AtomicLong rejeitadas = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+
+    public TodoWriteBehind (ReactiveMongoTemplate template, 
+                            @Value("${todo.write-behind.ativo:false}") boolean ativo, 
+                            @Value("${todo.write-behind.janela:PT0.2S}") Duration janela, 
+                            @Value("${todo.write-behind.capacidade:10000}") int capacidade) {
+        this.template = template;
+        this.ativo = ativo;
+        this.janela = janela;
+        this.capacidade = capacidade;
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        if (ativo) {
+            descarga = Flux
+                        .interval(janela)
+                        .takeUntilOther(parar.asMono())
+                        .onBackpressureDrop()
+                        .concatMap(tick -> descarregar())
+                        .then()
+                        .cache();
+            descarga.subscribe();
+        }
+    }
+
+    // Para o intervalo sem cancelar o bulkWrite em andamento: o concatMap só completa depois que o lote
+    // corrente termina, e então o que ficou pendente é descarregado.
+    @PreDestroy
+    public void encerrar() {
+        parar.tryEmitEmpty();
+        descarga
+            .then(descarregar())
+            .block(Duration.ofSeconds(30));
+    }
+
+    public boolean ativo() {
+        return ativo;
+    }
+
+    public boolean alternarFeito(String id) {
+        return registrar(id, Mutacao.ALTERNAR);
+    }
+
+    public boolean deletar(String id) {
+        return registrar(id, Mutacao.DELETAR);
+    }
+
+    public Mono<Void> descarregar() {
+        return Mono.defer(() -> {
+            Map<String, Mutacao> lote;
+            synchronized (this) {
+                if (pendentes.isEmpty()) {
+                    return Mono.empty();
+                }
+                lote = pendentes;
+                pendentes = new HashMap<>();
+            }
+
+            var operacoes = operacoes(lote);
+            coalescidas.addAndGet(lote.size() - operacoes.size());
+            if (operacoes.isEmpty()) {
+                return Mono.empty();
+            }
+
+            return template
+                    .getCollection(template.getCollectionName(Todo.class))
+                    .flatMap(colecao -> Mono.from(colecao.bulkWrite(operacoes, new BulkWriteOptions().ordered(false))))
+                    .doOnSuccess(resultado -> {
+                        enviadas.addAndGet(operacoes.size());
+                        lotes.incrementAndGet();
+                    })
+                    .doOnError(e -> falhas.addAndGet(operacoes.size()))
+                    .onErrorResume(e -> Mono.empty())
+                    .then();
+        });
+    }
+
+    public long recebidas() {
+        return recebidas.get();
+    }
+
+    public long coalescidas() {
+        return coalescidas.get();
+    }
+
+    public long enviadas() {
+        return enviadas.get();
+    }
+
+    public long lotes() {
+        return lotes.get();
+    }
+
+    public long rejeitadas() {
+        return rejeitadas.get();
+    }
+
+    public long falhas() {
+        return falhas.get();
+    }
+
+    public synchronized int pendentes() {
+        return pendentes.size();
+    }
+
+    private boolean registrar(String id, Mutacao mutacao) {
+        synchronized (this) {
+            if (!pendentes.containsKey(id) && pendentes.size() >= capacidade) {
+                rejeitadas.incrementAndGet();
+                return false;
+            }
+
+            recebidas.incrementAndGet();
+            if (pendentes.containsKey(id)) {
+                coalescidas.incrementAndGet();
+            }
+            pendentes.merge(id, mutacao, Mutacao::combinar);
+            return true;
+        }
+    }
+
+    private List<WriteModel<Document>> operacoes(Map<String, Mutacao> lote) {
+        var operacoes = new ArrayList<WriteModel<Document>>(lote.size());
+
+        lote.forEach((id, mutacao) -> {
+            if (mutacao.deletar()) {
+                operacoes.add(new DeleteOneModel<>(filtro(id)));
+            } else if (mutacao.alternancias() % 2 != 0) {
+                operacoes.add(new UpdateOneModel<>(filtro(id), List.of(
+                    new Document("$set", new Document("feito", new Document("$not", "$feito"))
+                        .append("versao", new Document("$add", List.of(new Document("$ifNull", List.of("$versao", 0L)), 1L)))))));
+            }
+        });
+
+        return operacoes;
+    }
+
+    private Bson filtro(String id) {
+        return Filters.eq("_id", template.getConverter().convertId(id, ObjectId.class));
+    }
+
+    private record Mutacao (boolean deletar, int alternancias) {
+
+        static final Mutacao ALTERNAR = new Mutacao(false, 1);
+        static final Mutacao DELETAR = new Mutacao(true, 0);
+
+        Mutacao combinar(Mutacao outra) {
+            if (deletar || outra.deletar) {
+                return DELETAR;
+            }
+            return new Mutacao(false, alternancias + outra.alternancias);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package edu.utfpr.cp.esp.java.reactivetodo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@DataMongoTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class TodoAtualizacaoBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoAtualizacaoBenchmarkTest.class);
+
+    private static final int ATUALIZACOES = 2_000;
+    private static final int CONCORRENCIA = 64;
+
+    @Autowired
+    private TodoRepository repository;
+
+    @Test
+    public void alternarFeitoConcorrente() {
+        var leituraEscrita = medir("findById + save", id -> repository
+                                                    .findById(id)
+                                                    .map(atual -> new Todo(id, atual.titulo(), atual.descricao(), !atual.feito()))
+                                                    .flatMap(repository::save));
+
+        var atomico = medir("findAndModify", id -> repository
+                                                    .alternarFeito(id, null)
+                                                    .map(TodoVersionado::todo));
+
+        log.info("{}", leituraEscrita);
+        log.info("{}", atomico);
+
+        assertEquals(false, atomico.feitoFinal(), () -> "Um número par de alternâncias atômicas deve voltar ao estado inicial: " + atomico);
+    }
+
+    private Resultado medir(String nome, Function<String, Mono<Todo>> alternar) {
+        String id = UUID.randomUUID().toString();
+        repository.save(new Todo(id, "Participar de reunião", "", false)).block();
+
+        long[] latencias = new long[ATUALIZACOES];
+        long inicio = System.nanoTime();
+
+        Flux.range(0, ATUALIZACOES)
+            .flatMap(i -> Mono.defer(() -> {
+                long inicioAtualizacao = System.nanoTime();
+                return alternar.apply(id)
+                        .doOnTerminate(() -> latencias[i] = System.nanoTime() - inicioAtualizacao);
+            }), CONCORRENCIA)
+            .blockLast(Duration.ofMinutes(5));
+
+        long duracao = System.nanoTime() - inicio;
+        Arrays.sort(latencias);
+
+        return new Resultado(
+                nome,
+                ATUALIZACOES / (duracao / 1_000_000_000.0),
+                Duration.ofNanos(latencias[ATUALIZACOES / 2]),
+                Duration.ofNanos(latencias[(int) (ATUALIZACOES * 0.99)]),
+                repository.findById(id).block().feito());
+    }
+
+    record Resultado (String nome, double atualizacoesPorSegundo, Duration p50, Duration p99, Boolean feitoFinal) { }
+}
@@ -5,6 +5,8 @@ import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 
 import reactor.core.publisher.Flux;
@@ -53,4 +55,55 @@ public class TodoRepositoryTest {
             .expectNextCount(2)
             .verifyComplete();
     }
+
+    @Test
+    public void recuperaPaginaPorFeito() {
+        
+        var results = repository
+                        .deleteAll()
+                        .thenMany(
+                            Flux
+                                .just("a", "b", "c", "d")
+                                .map(id -> new Todo(id, "Tarefa " + id, "", !id.equals("c")))
+                                .flatMap(repository::save))
+                        .thenMany(repository.findByFeitoAndIdGreaterThan(true, "a", PageRequest.of(0, 10, Sort.by("id"))));
+
+        StepVerifier
+            .create(results)
+            .expectNextMatches(item -> item.id().equals("b"))
+            .expectNextMatches(item -> item.id().equals("d"))
+            .verifyComplete();
+    }
+
+    @Test
+    public void recuperaPaginasComIdsGerados() {
+
+        var salvos = repository
+                        .deleteAll()
+                        .thenMany(
+                            Flux
+                                .just("Participar de reunião", "Verificar mensagens", "Responder e-mails")
+                                .map(titulo -> new Todo(null, titulo, "", false))
+                                .concatMap(repository::save))
+                        .map(Todo::id)
+                        .collectList()
+                        .block();
+
+        var pagina = PageRequest.of(0, 2, Sort.by("id"));
+
+        StepVerifier
+            .create(repository.findAllBy(pagina).map(Todo::id))
+            .expectNext(salvos.get(0), salvos.get(1))
+            .verifyComplete();
+
+        StepVerifier
+            .create(repository.findByFeito(false, pagina).map(Todo::id))
+            .expectNext(salvos.get(0), salvos.get(1))
+            .verifyComplete();
+
+        StepVerifier
+            .create(repository.findByIdGreaterThan(salvos.get(1), pagina).map(Todo::id))
+            .expectNext(salvos.get(2))
+            .verifyComplete();
+    }
 }
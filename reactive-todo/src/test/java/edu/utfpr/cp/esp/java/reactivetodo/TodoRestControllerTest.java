@@ -1,5 +1,9 @@
 package edu.utfpr.cp.esp.java.reactivetodo;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
@@ -7,18 +11,34 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.reactive.function.BodyInserters;
 
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteResult;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @WebFluxTest
+@Import(TodoIngestor.class)
 public class TodoRestControllerTest {
 
     @MockBean
     private TodoRepository repository;
 
+    @MockBean
+    private TodoWriteBehind writeBehind;
+
     @Autowired
     private WebTestClient client;
     
@@ -115,31 +135,397 @@ public class TodoRestControllerTest {
 
         String id = UUID.randomUUID().toString();
 
-        Todo todo1 = new Todo(
+        TodoVersionado todo = new TodoVersionado(
                         id, 
                         "Participar de reunião", 
                         "", 
-                        false);
+                        true,
+                        1L);
 
-        Todo todo2 = new Todo(
-                        id, 
-                        "Participar de reunião", 
-                        "", 
-                        true);                        
         Mockito
-            .when(repository.findById(id))
-            .thenReturn(Mono.just(todo1));
+            .when(repository.alternarFeito(id, null))
+            .thenReturn(Mono.just(todo));
+
+        client
+            .put()
+            .uri("/todo/" + id)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().valueEquals("ETag", "\"1\"")
+            .expectBody()
+                .jsonPath("@.feito").isEqualTo("true");
+    }
+
+    @Test
+    public void atualizarFeitoVersaoDesatualizada() {
+
+        String id = UUID.randomUUID().toString();
+
+        Mockito
+            .when(repository.alternarFeito(id, 3L))
+            .thenReturn(Mono.empty());
 
         Mockito
-            .when(repository.save(todo2))
-            .thenReturn(Mono.just(todo2));
+            .when(repository.existsById(id))
+            .thenReturn(Mono.just(true));
 
         client
             .put()
             .uri("/todo/" + id)
+            .header("If-Match", "\"3\"")
+            .exchange()
+            .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    public void atualizarParcialComVersaoTodoInexistente() {
+
+        String id = UUID.randomUUID().toString();
+
+        TodoAtualizacao atualizacao = new TodoAtualizacao("Verificar mensagens", null);
+
+        Mockito
+            .when(repository.atualizarParcial(id, atualizacao, 1L))
+            .thenReturn(Mono.empty());
+
+        Mockito
+            .when(repository.existsById(id))
+            .thenReturn(Mono.just(false));
+
+        client
+            .patch()
+            .uri("/todo/" + id)
+            .header("If-Match", "\"1\"")
+            .body(BodyInserters.fromValue(atualizacao))
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void atualizarParcial() {
+
+        String id = UUID.randomUUID().toString();
+
+        TodoAtualizacao atualizacao = new TodoAtualizacao("Verificar mensagens", null);
+
+        TodoVersionado todo = new TodoVersionado(
+                        id, 
+                        "Verificar mensagens", 
+                        "", 
+                        false,
+                        2L);
+
+        Mockito
+            .when(repository.atualizarParcial(id, atualizacao, 1L))
+            .thenReturn(Mono.just(todo));
+
+        client
+            .patch()
+            .uri("/todo/" + id)
+            .header("If-Match", "\"1\"")
+            .body(BodyInserters.fromValue(atualizacao))
             .exchange()
             .expectStatus().isOk()
+            .expectHeader().valueEquals("ETag", "\"2\"")
             .expectBody()
-                .jsonPath("@.feito").isEqualTo("true");
+                .jsonPath("@.titulo").isEqualTo("Verificar mensagens");
+    }
+
+    @Test
+    public void lerPagina() {
+
+        Todo todo1 = new Todo(
+                            "a", 
+                            "Participar de reunião", 
+                            "", 
+                            false);
+
+        Todo todo2 = new Todo(
+                            "b", 
+                            "Verificar mensagens", 
+                            "", 
+                            false);
+
+        Mockito
+            .when(repository.findAllBy(PageRequest.of(0, 2, Sort.by("id"))))
+            .thenReturn(Flux.just(todo1, todo2));
+
+        client
+            .get()
+            .uri("/todos?limit=1")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+                .jsonPath("@.items.length()").isEqualTo(1)
+                .jsonPath("@.items[0].titulo").isEqualTo("Participar de reunião")
+                .jsonPath("@.next").isEqualTo(TodoPage.encode("a"));
+    }
+
+    @Test
+    public void lerPaginaByFeitoComCursor() {
+
+        Todo todo = new Todo(
+                            "b", 
+                            "Verificar mensagens", 
+                            "", 
+                            true);
+
+        Mockito
+            .when(repository.findByFeitoAndIdGreaterThan(true, "a", PageRequest.of(0, 11, Sort.by("id"))))
+            .thenReturn(Flux.just(todo));
+
+        client
+            .get()
+            .uri("/todos/true?limit=10&cursor=" + TodoPage.encode("a"))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+                .jsonPath("@.items[0].titulo").isEqualTo("Verificar mensagens")
+                .jsonPath("@.next").doesNotExist();
+    }
+
+    @Test
+    public void lerPaginaByFeitoSemCursor() {
+
+        Todo todo1 = new Todo(
+                            "62d5a1f0c2b8a34e5c1f0a01", 
+                            "Participar de reunião", 
+                            "", 
+                            true);
+
+        Todo todo2 = new Todo(
+                            "62d5a1f0c2b8a34e5c1f0a02", 
+                            "Verificar mensagens", 
+                            "", 
+                            true);
+
+        Mockito
+            .when(repository.findByFeito(true, PageRequest.of(0, 2, Sort.by("id"))))
+            .thenReturn(Flux.just(todo1, todo2));
+
+        client
+            .get()
+            .uri("/todos/true?limit=1")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+                .jsonPath("@.items.length()").isEqualTo(1)
+                .jsonPath("@.items[0].id").isEqualTo("62d5a1f0c2b8a34e5c1f0a01")
+                .jsonPath("@.next").isEqualTo(TodoPage.encode("62d5a1f0c2b8a34e5c1f0a01"));
+
+        Mockito.verify(repository, Mockito.never()).findByFeitoAndIdGreaterThan(Mockito.anyBoolean(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void lerPaginaLimiteInvalido() {
+
+        client
+            .get()
+            .uri("/todos?limit=0")
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void streamTodos() {
+
+        Todo todo1 = new Todo(
+                            UUID.randomUUID().toString(), 
+                            "Participar de reunião", 
+                            "", 
+                            false);
+
+        Todo todo2 = new Todo(
+                            UUID.randomUUID().toString(), 
+                            "Verificar mensagens", 
+                            "", 
+                            false);
+
+        Mockito
+            .when(repository.findAll())
+            .thenReturn(Flux.just(todo1, todo2));
+
+        client
+            .get()
+            .uri("/todos")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBodyList(Todo.class)
+                .hasSize(2);
+    }
+
+    @Test
+    public void ingerirTodos() {
+
+        Mockito
+            .when(repository.insert(Mockito.<Todo>anyList()))
+            .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Todo>>getArgument(0)));
+
+        String corpo = """
+            {"id":"a","titulo":"Participar de reunião","descricao":"","feito":false}
+            {"id":"b","titulo":"ab","descricao":"","feito":false}
+            {"id":"c","titulo":"Verificar mensagens","descricao":"","feito":true}
+            """;
+
+        var respostas = client
+                            .post()
+                            .uri("/todos")
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .accept(MediaType.APPLICATION_NDJSON)
+                            .bodyValue(corpo)
+                            .exchange()
+                            .expectStatus().isOk()
+                            .expectBodyList(TodoIngestao.class)
+                            .returnResult()
+                            .getResponseBody();
+
+        var rejeitados = respostas.stream().filter(resposta -> resposta.tipo().equals("rejeitado")).toList();
+        var inseridos = respostas.stream()
+                            .filter(resposta -> resposta.tipo().equals("lote"))
+                            .mapToInt(TodoIngestao::inseridos)
+                            .sum();
+
+        assertEquals(1, rejeitados.size());
+        assertEquals(1L, rejeitados.get(0).indice());
+        assertEquals(2, inseridos);
+    }
+
+    @Test
+    public void ingerirTodosLinhaMalformada() {
+
+        Mockito
+            .when(repository.insert(Mockito.<Todo>anyList()))
+            .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Todo>>getArgument(0)));
+
+        String corpo = """
+            {"id":"a","titulo":"Participar de reunião","descricao":"","feito":false}
+            {"id":"b","titulo":
+            {"id":"c","titulo":"Verificar mensagens","descricao":"","feito":true}
+            """;
+
+        var respostas = client
+                            .post()
+                            .uri("/todos")
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .accept(MediaType.APPLICATION_NDJSON)
+                            .bodyValue(corpo)
+                            .exchange()
+                            .expectStatus().isOk()
+                            .expectBodyList(TodoIngestao.class)
+                            .returnResult()
+                            .getResponseBody();
+
+        var rejeitados = respostas.stream().filter(resposta -> resposta.tipo().equals("rejeitado")).toList();
+        var inseridos = respostas.stream()
+                            .filter(resposta -> resposta.tipo().equals("lote"))
+                            .mapToInt(TodoIngestao::inseridos)
+                            .sum();
+
+        assertEquals(1, rejeitados.size());
+        assertEquals(1L, rejeitados.get(0).indice());
+        assertEquals(2, inseridos);
+    }
+
+    @Test
+    public void ingerirTodosLoteParcial() {
+
+        var falha = new MongoBulkWriteException(
+                            BulkWriteResult.acknowledged(1, 0, 0, 0, List.of()),
+                            List.of(),
+                            null,
+                            new ServerAddress());
+
+        Mockito
+            .when(repository.insert(Mockito.<Todo>anyList()))
+            .thenReturn(Flux.error(new DuplicateKeyException("id duplicado", falha)));
+
+        String corpo = """
+            {"id":"a","titulo":"Participar de reunião","descricao":"","feito":false}
+            {"id":"a","titulo":"Verificar mensagens","descricao":"","feito":true}
+            """;
+
+        client
+            .post()
+            .uri("/todos")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .bodyValue(corpo)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(TodoIngestao.class)
+                .hasSize(1)
+                .value(respostas -> {
+                    assertEquals(1, respostas.get(0).inseridos());
+                    assertTrue(respostas.get(0).erro() != null);
+                });
+    }
+
+    @Test
+    public void atualizarFeitoWriteBehind() {
+
+        String id = UUID.randomUUID().toString();
+
+        Mockito
+            .when(writeBehind.ativo())
+            .thenReturn(true);
+
+        Mockito
+            .when(writeBehind.alternarFeito(id))
+            .thenReturn(true);
+
+        client
+            .put()
+            .uri("/todo/" + id)
+            .exchange()
+            .expectStatus().isAccepted();
+
+        Mockito.verify(repository, Mockito.never()).alternarFeito(id, null);
+    }
+
+    @Test
+    public void deletarWriteBehindCheio() {
+
+        String id = UUID.randomUUID().toString();
+
+        Mockito
+            .when(writeBehind.ativo())
+            .thenReturn(true);
+
+        Mockito
+            .when(writeBehind.deletar(id))
+            .thenReturn(false);
+
+        client
+            .delete()
+            .uri("/todo/" + id)
+            .exchange()
+            .expectStatus().isEqualTo(503);
+    }
+
+    @Test
+    public void lerTodosRegistraMetricas() {
+
+        var registro = new SimpleMeterRegistry();
+        Metrics.addRegistry(registro);
+
+        try {
+            Mockito
+                .when(repository.findAll())
+                .thenReturn(Flux.just(new Todo(UUID.randomUUID().toString(), "Medir consultas", "", false)));
+
+            client
+                .get()
+                .uri("/todos")
+                .exchange()
+                .expectStatus().isOk();
+
+            assertTrue(registro.getMeters().stream()
+                .anyMatch(meter -> meter.getId().getTags().contains(Tag.of("consulta", "findAll"))));
+
+        } finally {
+            Metrics.removeRegistry(registro);
+        }
     }
 }
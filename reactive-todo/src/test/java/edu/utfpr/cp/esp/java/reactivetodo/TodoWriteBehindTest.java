@@ -0,0 +1,100 @@
+package edu.utfpr.cp.esp.java.reactivetodo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.reactivestreams.client.MongoCollection;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+public class TodoWriteBehindTest {
+
+    private final ReactiveMongoTemplate template = Mockito.mock(ReactiveMongoTemplate.class);
+
+    @Test
+    public void coalesceMutacoesDoMesmoId() {
+        var writeBehind = new TodoWriteBehind(template, false, Duration.ofSeconds(1), 10);
+
+        writeBehind.alternarFeito("a");
+        writeBehind.alternarFeito("a");
+        writeBehind.deletar("b");
+        writeBehind.alternarFeito("b");
+
+        assertEquals(4, writeBehind.recebidas());
+        assertEquals(2, writeBehind.coalescidas());
+        assertEquals(2, writeBehind.pendentes());
+    }
+
+    @Test
+    public void alternanciasQueSeAnulamNaoSaoEnviadas() {
+        var writeBehind = new TodoWriteBehind(template, false, Duration.ofSeconds(1), 10);
+
+        writeBehind.alternarFeito("a");
+        writeBehind.alternarFeito("a");
+        writeBehind.descarregar().block();
+
+        assertEquals(2, writeBehind.coalescidas());
+        assertEquals(0, writeBehind.enviadas());
+        assertEquals(0, writeBehind.pendentes());
+        Mockito.verifyNoInteractions(template);
+    }
+
+    @Test
+    public void rejeitaQuandoCheio() {
+        var writeBehind = new TodoWriteBehind(template, false, Duration.ofSeconds(1), 1);
+
+        assertTrue(writeBehind.alternarFeito("a"));
+        assertTrue(writeBehind.deletar("a"));
+        assertFalse(writeBehind.alternarFeito("b"));
+        assertEquals(1, writeBehind.rejeitadas());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void encerrarAguardaLoteEmAndamento() throws Exception {
+        MongoCollection<Document> colecao = Mockito.mock(MongoCollection.class);
+        MongoConverter converter = Mockito.mock(MongoConverter.class);
+        Sinks.One<BulkWriteResult> emAndamento = Sinks.one();
+
+        Mockito.when(template.getCollectionName(Todo.class)).thenReturn("todo");
+        Mockito.when(template.getCollection("todo")).thenReturn(Mono.just(colecao));
+        Mockito.when(template.getConverter()).thenReturn(converter);
+        Mockito.when(converter.convertId(Mockito.anyString(), Mockito.eq(ObjectId.class))).thenReturn(new ObjectId());
+        Mockito
+            .when(colecao.bulkWrite(Mockito.anyList(), Mockito.any(BulkWriteOptions.class)))
+            .thenReturn(emAndamento.asMono(), Mono.just(BulkWriteResult.unacknowledged()));
+
+        var writeBehind = new TodoWriteBehind(template, true, Duration.ofMillis(20), 10);
+        writeBehind.iniciar();
+
+        writeBehind.alternarFeito("a");
+        Mockito.verify(colecao, Mockito.timeout(2000)).bulkWrite(Mockito.anyList(), Mockito.any(BulkWriteOptions.class));
+        writeBehind.deletar("b");
+
+        var encerramento = CompletableFuture.runAsync(writeBehind::encerrar);
+        Thread.sleep(100);
+        assertFalse(encerramento.isDone());
+
+        emAndamento.tryEmitValue(BulkWriteResult.unacknowledged());
+        encerramento.get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, writeBehind.enviadas());
+        assertEquals(2, writeBehind.lotes());
+        assertEquals(0, writeBehind.pendentes());
+    }
+}
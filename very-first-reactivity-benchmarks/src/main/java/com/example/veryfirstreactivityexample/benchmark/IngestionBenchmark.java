@@ -0,0 +1,107 @@
+package com.example.veryfirstreactivityexample.benchmark;
+
+import com.example.veryfirstreactivityexample.IntChunk;
+import com.example.veryfirstreactivityexample.MappedIntReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+
+/**
+ * Filters a comma separated file of {@code numbers} random ints, once through the split-based path of
+ * {@code VeryFirstReactivityExampleApplication.init()} and once through {@link MappedIntReader}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class IngestionBenchmark {
+
+	private static final IntPredicate EVEN = i -> i % 2 == 0;
+
+	@Param({"1000000", "10000000"})
+	public int numbers;
+
+	@Param({"4MB"})
+	public String chunkSize;
+
+	private Path file;
+	private Scheduler scheduler;
+	private MappedIntReader parallelReader;
+	private MappedIntReader singleReader;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		file = Files.createTempFile("numbers", ".csv");
+		var random = new SplittableRandom(42);
+		try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+			for (int i = 0; i < numbers; i++) {
+				if (i > 0) {
+					writer.write(',');
+				}
+				writer.write(Integer.toString(random.nextInt()));
+			}
+		}
+
+		long bytes = DataSize.parse(chunkSize).toBytes();
+		int cores = Runtime.getRuntime().availableProcessors();
+		scheduler = Schedulers.newParallel("ingest", cores);
+		parallelReader = new MappedIntReader(bytes, cores);
+		singleReader = new MappedIntReader(bytes, 1);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		scheduler.dispose();
+		Files.deleteIfExists(file);
+	}
+
+	@Benchmark
+	public long split() throws IOException {
+		return Flux.fromArray(Files.readString(file).split(","))
+				.map(Integer::parseInt)
+				.filter(i -> i % 2 == 0)
+				.count()
+				.block();
+	}
+
+	@Benchmark
+	public long mappedParallel() {
+		return count(parallelReader);
+	}
+
+	@Benchmark
+	public long mappedSingleThread() {
+		return count(singleReader);
+	}
+
+	private long count(MappedIntReader reader) {
+		return reader.read(file, EVEN, scheduler)
+				.map(IntChunk::size)
+				.reduce(0L, (total, size) -> total + size)
+				.block();
+	}
+}
@@ -0,0 +1,56 @@
+package com.example.veryfirstreactivityexample.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Runs {@link PipelineBenchmark} with the GC profiler and prints throughput and allocation per element instead of
+ * per call, so sizes can be compared with each other. Accepts the usual JMH command line options.
+ */
+public class PerElementReport {
+
+	private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		var options = new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.include(PipelineBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build();
+
+		Collection<RunResult> results = new Runner(options).run();
+
+		System.out.printf("%n%-20s %10s %16s %14s%n", "Benchmark", "Size", "Elements/s", "B/element");
+		results.stream()
+				.sorted(Comparator.comparing((RunResult result) -> result.getParams().getBenchmark())
+						.thenComparingInt(result -> Integer.parseInt(result.getParams().getParam("size"))))
+				.forEach(PerElementReport::print);
+	}
+
+	private static void print(RunResult result) {
+		String benchmark = result.getParams().getBenchmark();
+		int size = Integer.parseInt(result.getParams().getParam("size"));
+		double callsPerSecond = result.getPrimaryResult().getScore();
+		// Older JMH versions prefix secondary result labels with a middle dot.
+		var allocation = result.getSecondaryResults().entrySet().stream()
+				.filter(entry -> entry.getKey().endsWith(ALLOCATION))
+				.map(Map.Entry::getValue)
+				.findFirst()
+				.orElse(null);
+
+		System.out.printf("%-20s %10d %16.0f %14s%n",
+				benchmark.substring(benchmark.lastIndexOf('.') + 1),
+				size,
+				callsPerSecond * size,
+				allocation == null ? "n/a" : String.format("%.2f", allocation.getScore() / size));
+	}
+}
@@ -0,0 +1,142 @@
+package com.example.veryfirstreactivityexample.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * The map/filter/parse pipeline of {@code VeryFirstReactivityExampleApplication.init()}, run to completion over
+ * {@code size} numeric strings. Every variant returns the number of even values, so none of them can be eliminated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PipelineBenchmark {
+
+	@Param({"10", "1000", "100000", "10000000"})
+	public int size;
+
+	private String[] input;
+	private Scheduler scheduler;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		input = IntStream.range(0, size).mapToObj(Integer::toString).toArray(String[]::new);
+		scheduler = Schedulers.newParallel("pipeline");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		scheduler.dispose();
+	}
+
+	@Benchmark
+	public long loop() {
+		long count = 0;
+		for (String value : input) {
+			if (Integer.parseInt(value) % 2 == 0) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Benchmark
+	public long streamPrimitive() {
+		return Arrays.stream(input)
+				.mapToInt(Integer::parseInt)
+				.filter(i -> i % 2 == 0)
+				.count();
+	}
+
+	@Benchmark
+	public long streamSequential() {
+		return Arrays.stream(input)
+				.map(Integer::parseInt)
+				.filter(i -> i % 2 == 0)
+				.count();
+	}
+
+	@Benchmark
+	public long streamParallel() {
+		return Arrays.stream(input)
+				.parallel()
+				.map(Integer::parseInt)
+				.filter(i -> i % 2 == 0)
+				.count();
+	}
+
+	@Benchmark
+	public long reactor() {
+		return Flux.fromArray(input)
+				.map(Integer::parseInt)
+				.filter(i -> i % 2 == 0)
+				.count()
+				.block();
+	}
+
+	// hide() turns off operator fusion, so every element goes through request/onNext between the stages.
+	@Benchmark
+	public long reactorUnfused() {
+		return Flux.fromArray(input)
+				.hide()
+				.map(Integer::parseInt)
+				.hide()
+				.filter(i -> i % 2 == 0)
+				.hide()
+				.count()
+				.block();
+	}
+
+	@Benchmark
+	public long reactorPublishOn() {
+		return Flux.fromArray(input)
+				.publishOn(scheduler)
+				.map(Integer::parseInt)
+				.filter(i -> i % 2 == 0)
+				.count()
+				.block();
+	}
+
+	@Benchmark
+	public long reactorSubscribeOn() {
+		return Flux.fromArray(input)
+				.map(Integer::parseInt)
+				.filter(i -> i % 2 == 0)
+				.count()
+				.subscribeOn(scheduler)
+				.block();
+	}
+
+	@Benchmark
+	public long parallelFlux() {
+		return Flux.fromArray(input)
+				.parallel()
+				.runOn(scheduler)
+				.map(Integer::parseInt)
+				.filter(i -> i % 2 == 0)
+				.sequential()
+				.count()
+				.block();
+	}
+}
@@ -0,0 +1,16 @@
+package com.example.veryfirstreactivityexample;
+
+import java.time.Duration;
+
+public record IngestionReport(int chunks, long parsed, long written, long bytes, Duration elapsed) {
+
+	public double megabytesPerSecond() {
+		return elapsed.isZero() ? 0 : bytes / 1_048_576.0 / (elapsed.toNanos() / 1e9);
+	}
+
+	@Override
+	public String toString() {
+		return "IngestionReport[chunks=%d, parsed=%d, written=%d, bytes=%d, elapsed=%s, MB/s=%.1f]"
+				.formatted(chunks, parsed, written, bytes, elapsed, megabytesPerSecond());
+	}
+}
@@ -0,0 +1,40 @@
+package com.example.veryfirstreactivityexample;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Values kept from one chunk of the input file, in file order. {@code values} may be longer than {@code size}.
+ */
+public record IntChunk(int index, int parsed, int[] values, int size) {
+
+	// "-2147483648\n"
+	private static final int MAX_LINE_BYTES = 12;
+
+	public void writeTo(OutputStream out) throws IOException {
+		byte[] bytes = new byte[Math.max(size, 1) * MAX_LINE_BYTES];
+		int position = 0;
+		for (int i = 0; i < size; i++) {
+			position = format(values[i], bytes, position);
+			bytes[position++] = '\n';
+		}
+		out.write(bytes, 0, position);
+	}
+
+	private static int format(int value, byte[] bytes, int position) {
+		long remaining = value;
+		if (remaining < 0) {
+			bytes[position++] = '-';
+			remaining = -remaining;
+		}
+		int digits = 1;
+		for (long scale = 10; scale <= remaining; scale *= 10) {
+			digits++;
+		}
+		for (int i = position + digits - 1; i >= position; i--) {
+			bytes[i] = (byte) ('0' + remaining % 10);
+			remaining /= 10;
+		}
+		return position + digits;
+	}
+}
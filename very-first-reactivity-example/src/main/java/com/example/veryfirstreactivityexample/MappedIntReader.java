@@ -0,0 +1,146 @@
+package com.example.veryfirstreactivityexample;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Reads a file of delimited ints (any byte other than a digit or a leading '-' is a delimiter) by memory-mapping it in chunks
+ * and parsing the mapped bytes directly, without creating Strings or Integers.
+ * <p>
+ * A chunk owns every number that starts inside it. It is mapped with one byte before it, to tell whether its first
+ * number started in the previous chunk, and {@link #MAX_NUMBER_BYTES} after it, to finish its last number. So chunks
+ * need no coordination and are parsed in parallel.
+ */
+public class MappedIntReader {
+
+	// "-2147483648"
+	static final int MAX_NUMBER_BYTES = 11;
+
+	private final long chunkSize;
+	private final int parallelism;
+
+	public MappedIntReader(long chunkSize, int parallelism) {
+		if (chunkSize <= MAX_NUMBER_BYTES || chunkSize > Integer.MAX_VALUE - 2 * MAX_NUMBER_BYTES) {
+			throw new IllegalArgumentException("chunk size must be between " + (MAX_NUMBER_BYTES + 1)
+					+ " and " + (Integer.MAX_VALUE - 2 * MAX_NUMBER_BYTES) + " bytes");
+		}
+		this.chunkSize = chunkSize;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Emits the values matching {@code filter}, one {@link IntChunk} per chunk, in file order. Chunks are parsed on
+	 * {@code scheduler}, at most {@code parallelism} at a time.
+	 */
+	public Flux<IntChunk> read(Path file, IntPredicate filter, Scheduler scheduler) {
+		return Flux.using(() -> FileChannel.open(file, StandardOpenOption.READ),
+				channel -> {
+					long size;
+					try {
+						size = channel.size();
+					} catch (IOException e) {
+						return Flux.error(e);
+					}
+					int chunks = Math.toIntExact((size + chunkSize - 1) / chunkSize);
+					// Not parallel().ordered(): it can wait forever for a rail that failed.
+					return Flux.range(0, chunks)
+							.flatMapSequential(index -> Mono.fromCallable(() -> parse(channel, size, index, filter))
+									.subscribeOn(scheduler), parallelism, 1);
+				},
+				MappedIntReader::close);
+	}
+
+	private IntChunk parse(FileChannel channel, long fileSize, int index, IntPredicate filter) {
+		long start = index * chunkSize;
+		long end = Math.min(start + chunkSize, fileSize);
+		long mapStart = Math.max(start - 1, 0);
+		long mapEnd = Math.min(end + MAX_NUMBER_BYTES, fileSize);
+
+		ByteBuffer bytes;
+		try {
+			bytes = channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapEnd - mapStart);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		int position = (int) (start - mapStart);
+		int ownedEnd = (int) (end - mapStart);
+		int limit = bytes.limit();
+
+		// The number under the chunk start belongs to the previous chunk.
+		if (position > 0 && isNumberByte(bytes.get(position - 1))) {
+			while (position < limit && isDigit(bytes.get(position))) {
+				position++;
+			}
+		}
+
+		int[] values = new int[16];
+		int size = 0;
+		int parsed = 0;
+		while (true) {
+			while (position < ownedEnd && !isNumberByte(bytes.get(position))) {
+				position++;
+			}
+			if (position >= ownedEnd) {
+				break;
+			}
+
+			int numberStart = position;
+			boolean negative = bytes.get(position) == '-';
+			if (negative) {
+				position++;
+			}
+			long value = 0;
+			while (position < limit && isDigit(bytes.get(position))) {
+				value = value * 10 + (bytes.get(position++) - '0');
+				if (value > (negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE)) {
+					throw new NumberFormatException("Number at byte " + (mapStart + numberStart) + " is not an int");
+				}
+			}
+			if (position == limit && mapEnd < fileSize) {
+				throw new NumberFormatException("Number at byte " + (mapStart + numberStart) + " is longer than "
+						+ MAX_NUMBER_BYTES + " bytes");
+			}
+			if (position == numberStart + (negative ? 1 : 0)) {
+				// A lone '-' is a delimiter.
+				continue;
+			}
+
+			int number = (int) (negative ? -value : value);
+			parsed++;
+			if (filter.test(number)) {
+				if (size == values.length) {
+					values = Arrays.copyOf(values, size * 2);
+				}
+				values[size++] = number;
+			}
+		}
+		return new IntChunk(index, parsed, values, size);
+	}
+
+	private static boolean isNumberByte(byte b) {
+		return isDigit(b) || b == '-';
+	}
+
+	private static boolean isDigit(byte b) {
+		return b >= '0' && b <= '9';
+	}
+
+	private static void close(FileChannel channel) {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
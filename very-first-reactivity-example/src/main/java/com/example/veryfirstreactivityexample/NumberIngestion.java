@@ -0,0 +1,110 @@
+package com.example.veryfirstreactivityexample;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.IntPredicate;
+
+/**
+ * Filters a large file of delimited numbers with {@link MappedIntReader} and writes the even ones, one per line,
+ * to {@code ingest.output} (standard output when not set).
+ */
+@Component
+@ConditionalOnProperty(prefix = "ingest", name = "file")
+public class NumberIngestion {
+
+	private static final IntPredicate EVEN = i -> i % 2 == 0;
+
+	private final Path file;
+	private final String output;
+	private final MappedIntReader reader;
+
+	public NumberIngestion(@Value("${ingest.file}") Path file,
+						   @Value("${ingest.output:}") String output,
+						   @Value("${ingest.chunk-size:16MB}") DataSize chunkSize,
+						   @Value("${ingest.parallelism:0}") int parallelism) {
+		this.file = file;
+		this.output = output;
+		this.reader = new MappedIntReader(chunkSize.toBytes(),
+				parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+	}
+
+	public Mono<IngestionReport> run() {
+		return Mono.using(() -> Schedulers.newParallel("ingest"),
+				scheduler -> Mono.using(this::openOutput,
+						out -> ingest(scheduler, out),
+						NumberIngestion::close),
+				Scheduler::dispose);
+	}
+
+	private Mono<IngestionReport> ingest(Scheduler scheduler, OutputStream out) {
+		long started = System.nanoTime();
+		return reader.read(file, EVEN, scheduler)
+				.publishOn(Schedulers.boundedElastic(), 1)
+				.doOnNext(chunk -> write(chunk, out))
+				.reduceWith(() -> new long[3], (totals, chunk) -> {
+					totals[0]++;
+					totals[1] += chunk.parsed();
+					totals[2] += chunk.size();
+					return totals;
+				})
+				.map(totals -> new IngestionReport((int) totals[0], totals[1], totals[2], size(),
+						Duration.ofNanos(System.nanoTime() - started)));
+	}
+
+	private OutputStream openOutput() throws IOException {
+		if (output.isBlank()) {
+			// Do not close System.out together with the ingestion.
+			return new BufferedOutputStream(new FilterOutputStream(System.out) {
+				@Override
+				public void write(byte[] bytes, int offset, int length) throws IOException {
+					out.write(bytes, offset, length);
+				}
+
+				@Override
+				public void close() throws IOException {
+					flush();
+				}
+			}, 1 << 16);
+		}
+		return new BufferedOutputStream(new FileOutputStream(output), 1 << 16);
+	}
+
+	private long size() {
+		try {
+			return Files.size(file);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void write(IntChunk chunk, OutputStream out) {
+		try {
+			chunk.writeTo(out);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void close(OutputStream out) {
+		try {
+			out.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package com.example.veryfirstreactivityexample;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
@@ -9,12 +10,24 @@ import reactor.core.publisher.Flux;
 @SpringBootApplication
 public class VeryFirstReactivityExampleApplication {
 
+	private final ObjectProvider<NumberIngestion> numberIngestion;
+
+	public VeryFirstReactivityExampleApplication(ObjectProvider<NumberIngestion> numberIngestion) {
+		this.numberIngestion = numberIngestion;
+	}
+
 	public static void main(String[] args) {
 		SpringApplication.run(VeryFirstReactivityExampleApplication.class, args);
 	}
 
 	@EventListener(ApplicationReadyEvent.class)
 	public void init() {
+		var ingestion = numberIngestion.getIfAvailable();
+		if (ingestion != null) {
+			ingestion.run().subscribe(System.err::println);
+			return;
+		}
+
 		Flux<String> myFluxStream = Flux.fromArray("1,2,3,4".split(","));
 
 		myFluxStream
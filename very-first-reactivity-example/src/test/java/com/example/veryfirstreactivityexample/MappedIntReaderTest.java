@@ -0,0 +1,82 @@
+package com.example.veryfirstreactivityexample;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+public class MappedIntReaderTest {
+
+	// The smallest chunk the reader accepts, so short inputs span several chunks.
+	private static final int CHUNK_SIZE = MappedIntReader.MAX_NUMBER_BYTES + 1;
+
+	private final MappedIntReader reader = new MappedIntReader(CHUNK_SIZE, 2);
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void numberSplitAcrossChunks() throws IOException {
+		// "123456789" starts at byte 11 and ends at byte 19, past the first chunk.
+		assertEquals(List.of(1234567890, 123456789, 42), values("1234567890 123456789 42\n"));
+	}
+
+	@Test
+	public void minusAtChunkEdge() throws IOException {
+		// Last byte of the first chunk.
+		assertEquals(List.of(123456789, -5, 7), values("0123456789 -5 7"));
+		// First byte of the second chunk.
+		assertEquals(List.of(123456789, -5, 7), values("0123456789  -5 7"));
+		// A lone '-' before the edge is a delimiter.
+		assertEquals(List.of(123456789, 5, 7), values("0123456789 -\n5 7"));
+	}
+
+	@Test
+	public void overLongNumber() throws IOException {
+		read("1 99999999999 2")
+			.thenConsumeWhile(chunk -> true)
+			.expectErrorMatches(error -> error instanceof NumberFormatException
+				&& error.getMessage().contains("is not an int"))
+			.verify();
+		// Leading zeros keep the value small, but the number runs past the mapped bytes.
+		read("0".repeat(3 * CHUNK_SIZE) + "1 2")
+			.thenConsumeWhile(chunk -> true)
+			.expectErrorMatches(error -> error instanceof NumberFormatException
+				&& error.getMessage().contains("is longer than"))
+			.verify();
+	}
+
+	@Test
+	public void emptyFile() throws IOException {
+		read("").verifyComplete();
+		assertEquals(List.of(), values(""));
+	}
+
+	private List<Integer> values(String content) throws IOException {
+		return chunks(content)
+			.flatMapIterable(chunk -> Arrays.stream(chunk.values(), 0, chunk.size()).boxed().collect(Collectors.toList()))
+			.collectList()
+			.block();
+	}
+
+	private StepVerifier.FirstStep<IntChunk> read(String content) throws IOException {
+		return StepVerifier.create(chunks(content));
+	}
+
+	private Flux<IntChunk> chunks(String content) throws IOException {
+		var file = Files.writeString(directory.resolve("numbers.txt"), content, StandardCharsets.US_ASCII);
+		return reader.read(file, value -> true, Schedulers.parallel());
+	}
+}
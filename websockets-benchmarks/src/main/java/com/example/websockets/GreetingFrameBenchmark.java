@@ -0,0 +1,75 @@
+package com.example.websockets;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+
+import io.netty.buffer.PooledByteBufAllocator;
+
+/**
+ * Builds one greeting frame per call, the work done per tick per session once the shared clock has ticked.
+ * {@code text} is what {@code session.textMessage} does with a {@link GreetingsResponse}; {@code binary} writes
+ * the {@code greetings.binary.v1} frame. Both return the frame size, the bytes on the wire before WebSocket framing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GreetingFrameBenchmark {
+
+	@Param({ "heap", "pooled" })
+	private String buffers;
+
+	private DataBufferFactory factory;
+	private String greeting;
+	private GreetingFrames.Name name;
+	private GreetingClock.Tick tick;
+
+	@Setup
+	public void setUp() {
+		factory = buffers.equals("pooled")
+			? new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT)
+			: DefaultDataBufferFactory.sharedInstance;
+
+		var now = Instant.now();
+		tick = new GreetingClock.Tick(1, now.toEpochMilli(), now.toString());
+		greeting = "hello" + "Maria" + " @ ";
+		name = new GreetingFrames().intern("Maria");
+	}
+
+	@Benchmark
+	public int text() {
+		var response = new GreetingsResponse(greeting + tick.timestamp());
+		return release(factory.wrap(response.name().getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Benchmark
+	public int binary() {
+		return release(GreetingFrames.greeting(factory, name.id(), tick));
+	}
+
+	private static int release(DataBuffer buffer) {
+		int bytes = buffer.readableByteCount();
+		DataBufferUtils.release(buffer);
+		return bytes;
+	}
+}
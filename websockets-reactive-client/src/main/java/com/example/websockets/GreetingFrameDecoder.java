@@ -0,0 +1,52 @@
+package com.example.websockets;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.core.io.buffer.DataBuffer;
+
+class GreetingFrameDecoder {
+
+	static final String SUBPROTOCOL = "greetings.binary.v1";
+
+	static final byte NAME = 1;
+	static final byte GREETING = 2;
+
+	private final Map<Integer, String> names = new HashMap<>();
+
+	Optional<Greeting> decode(DataBuffer buffer) {
+		byte type = buffer.read();
+		int nameId = readInt(buffer);
+
+		if (type == NAME) {
+			names.put(nameId, buffer.toString(StandardCharsets.UTF_8));
+			return Optional.empty();
+		}
+		if (type != GREETING) {
+			throw new IllegalArgumentException("Unknown greeting frame type " + type);
+		}
+		return Optional.of(new Greeting(names.get(nameId), readLong(buffer), readLong(buffer)));
+	}
+
+	private static int readInt(DataBuffer buffer) {
+		int value = 0;
+		for (int i = 0; i < Integer.BYTES; i++) {
+			value = (value << 8) | (buffer.read() & 0xFF);
+		}
+		return value;
+	}
+
+	private static long readLong(DataBuffer buffer) {
+		long value = 0;
+		for (int i = 0; i < Long.BYTES; i++) {
+			value = (value << 8) | (buffer.read() & 0xFF);
+		}
+		return value;
+	}
+
+	record Greeting(String name, long epochMillis, long sequence) {
+
+	}
+}
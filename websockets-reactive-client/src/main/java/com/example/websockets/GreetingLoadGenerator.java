@@ -0,0 +1,191 @@
+package com.example.websockets;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Component
+@ConditionalOnProperty(prefix = "load", name = "sessions")
+public class GreetingLoadGenerator {
+
+	private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+	private final ObjectMapper objectMapper;
+	private final URI uri;
+	private final String protocol;
+	private final int sessions;
+	private final int connectRate;
+	private final Duration duration;
+	private final Duration reportInterval;
+	private final String output;
+
+	private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+	private final AtomicLong opened = new AtomicLong();
+	private final AtomicLong connected = new AtomicLong();
+	private final AtomicLong connectFailures = new AtomicLong();
+	private final AtomicLong sessionErrors = new AtomicLong();
+
+	public GreetingLoadGenerator(ObjectMapper objectMapper,
+			@Value("${load.url:ws://localhost:8080/ws/greetings}") URI uri,
+			@Value("${greetings.protocol:text}") String protocol,
+			@Value("${load.sessions}") int sessions,
+			@Value("${load.connect-rate:500}") int connectRate,
+			@Value("${load.duration:PT60S}") Duration duration,
+			@Value("${load.report-interval:PT5S}") Duration reportInterval,
+			@Value("${load.output:}") String output) {
+		this.objectMapper = objectMapper;
+		this.uri = uri;
+		this.protocol = protocol;
+		this.sessions = sessions;
+		this.connectRate = connectRate;
+		this.duration = duration;
+		this.reportInterval = reportInterval;
+		this.output = output;
+	}
+
+	public LoadReport run() {
+		var client = new ReactorNettyWebSocketClient(HttpClient.create(ConnectionProvider.newConnection()));
+		var rampUp = Duration.ofNanos(TimeUnit.SECONDS.toNanos(1) * sessions / connectRate);
+		var stop = Mono.delay(rampUp.plus(duration)).cache();
+		var total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+		long start = System.nanoTime();
+
+		var progress = Flux.interval(reportInterval)
+			.takeUntilOther(stop)
+			.doOnNext(tick -> {
+				var interval = recorder.getIntervalHistogram();
+				total.add(interval);
+				System.out.printf("connected=%d failures=%d errors=%d messages/s=%.0f p50=%dus p99=%dus p999=%dus%n",
+					connected.get(), connectFailures.get(), sessionErrors.get(),
+					interval.getTotalCount() / (reportInterval.toNanos() / 1_000_000_000.0),
+					interval.getValueAtPercentile(50.0),
+					interval.getValueAtPercentile(99.0),
+					interval.getValueAtPercentile(99.9));
+			})
+			.subscribe();
+
+		Flux.interval(Duration.ofNanos(TimeUnit.SECONDS.toNanos(1) / connectRate))
+			.onBackpressureDrop()
+			.take(sessions)
+			.flatMap(i -> {
+				// An error before the handler runs is a failed connect; after it, the session broke.
+				var open = new AtomicBoolean();
+				return client.execute(uri, handler("load-" + i, open, stop))
+					.onErrorResume(error -> {
+						(open.get() ? sessionErrors : connectFailures).incrementAndGet();
+						return Mono.empty();
+					});
+			}, sessions)
+			.then()
+			.block();
+
+		progress.dispose();
+		total.add(recorder.getIntervalHistogram());
+
+		var report = LoadReport.of(protocol, sessions, opened.get(), connectFailures.get(), sessionErrors.get(),
+			System.nanoTime() - start, total);
+		write(report);
+		return report;
+	}
+
+	private WebSocketHandler handler(String name, AtomicBoolean open, Mono<Long> stop) {
+		var binary = "binary".equals(protocol);
+		var prefix = "hello" + name + " @ ";
+
+		return new WebSocketHandler() {
+
+			@Override
+			public List<String> getSubProtocols() {
+				return binary ? List.of(GreetingFrameDecoder.SUBPROTOCOL) : List.of();
+			}
+
+			@Override
+			public Mono<Void> handle(WebSocketSession session) {
+				open.set(true);
+				opened.incrementAndGet();
+				connected.incrementAndGet();
+				var decoder = new GreetingFrameDecoder();
+
+				return session.send(Mono.just(session.textMessage(name)))
+					.thenMany(session.receive()
+						.doOnNext(message -> record(message, decoder, binary, prefix))
+						.takeUntilOther(stop))
+					.then(session.close())
+					.doFinally(signal -> connected.decrementAndGet());
+			}
+		};
+	}
+
+	private void record(WebSocketMessage message, GreetingFrameDecoder decoder, boolean binary, String prefix) {
+		var now = Instant.now();
+
+		if (binary) {
+			decoder.decode(message.getPayload())
+				.ifPresent(greeting -> recordLatency(TimeUnit.MILLISECONDS.toMicros(now.toEpochMilli() - greeting.epochMillis())));
+			return;
+		}
+
+		// Broadcasts share the text channel, so only this session's greetings carry a timestamp to read.
+		var text = message.getPayloadAsText();
+		if (!text.startsWith(prefix)) {
+			return;
+		}
+		try {
+			recordLatency(Instant.parse(text.substring(prefix.length())).until(now, ChronoUnit.MICROS));
+		} catch (DateTimeParseException e) {
+			// Not a greeting after all.
+		}
+	}
+
+	private void recordLatency(long micros) {
+		recorder.recordValue(Math.max(0, Math.min(micros, HIGHEST_TRACKABLE_MICROS)));
+	}
+
+	private void write(LoadReport report) {
+		if (output.isBlank()) {
+			return;
+		}
+
+		var path = Path.of(output);
+		try {
+			if (output.endsWith(".json")) {
+				objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+				return;
+			}
+			if (Files.notExists(path)) {
+				Files.writeString(path, LoadReport.CSV_HEADER + System.lineSeparator());
+			}
+			Files.writeString(path, report.toCsv() + System.lineSeparator(), StandardOpenOption.APPEND);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
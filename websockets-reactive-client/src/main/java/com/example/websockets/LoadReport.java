@@ -0,0 +1,45 @@
+package com.example.websockets;
+
+import java.time.Instant;
+
+import org.HdrHistogram.Histogram;
+
+public record LoadReport(Instant finishedAt, String protocol, int sessions, long connected, long connectFailures,
+		long sessionErrors, long messages, double messagesPerSecond, long p50Micros, long p99Micros, long p999Micros,
+		long maxMicros) {
+
+	static final String CSV_HEADER = "finishedAt,protocol,sessions,connected,connectFailures,sessionErrors,messages,messagesPerSecond,p50Micros,p99Micros,p999Micros,maxMicros";
+
+	static LoadReport of(String protocol, int sessions, long connected, long connectFailures, long sessionErrors,
+			long elapsedNanos, Histogram latencies) {
+		return new LoadReport(
+			Instant.now(),
+			protocol,
+			sessions,
+			connected,
+			connectFailures,
+			sessionErrors,
+			latencies.getTotalCount(),
+			latencies.getTotalCount() / (elapsedNanos / 1_000_000_000.0),
+			latencies.getValueAtPercentile(50.0),
+			latencies.getValueAtPercentile(99.0),
+			latencies.getValueAtPercentile(99.9),
+			latencies.getMaxValue());
+	}
+
+	String toCsv() {
+		return String.join(",",
+			finishedAt.toString(),
+			protocol,
+			Integer.toString(sessions),
+			Long.toString(connected),
+			Long.toString(connectFailures),
+			Long.toString(sessionErrors),
+			Long.toString(messages),
+			String.format("%.1f", messagesPerSecond),
+			Long.toString(p50Micros),
+			Long.toString(p99Micros),
+			Long.toString(p999Micros),
+			Long.toString(maxMicros));
+	}
+}
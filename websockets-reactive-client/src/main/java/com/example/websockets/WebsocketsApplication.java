@@ -2,12 +2,19 @@ package com.example.websockets;
 
 import java.net.URI;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.web.reactive.socket.WebSocketHandler;
 import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
 import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
 
 import reactor.core.publisher.Mono;
@@ -15,23 +22,72 @@ import reactor.core.publisher.Mono;
 @SpringBootApplication
 public class WebsocketsApplication {
 
+	@Value("${greetings.protocol:text}")
+	private String protocol;
+
+	@Autowired
+	private ObjectProvider<GreetingLoadGenerator> loadGenerator;
+
 	public static void main(String[] args) {
 		SpringApplication.run(WebsocketsApplication.class, args);
 	}
 
 	@EventListener(ApplicationReadyEvent.class)
 	public void init() {
+		var generator = loadGenerator.getIfAvailable();
+		if (generator != null) {
+			System.out.println(generator.run());
+			return;
+		}
+
 		var client = new ReactorNettyWebSocketClient();
+		var frames = new AtomicLong();
+		var bytes = new AtomicLong();
 
 		client.execute(
 			URI.create("ws://localhost:8080/ws/greetings"), 
-			session -> session.send(
-				Mono.just(session.textMessage("A made up name")))
-				.thenMany(session.receive()
-					.map(WebSocketMessage::getPayloadAsText)
-					.log())
-				.then())
+			"binary".equals(protocol) ? binaryHandler(frames, bytes) : textHandler(frames, bytes))
+			.doFinally(signal -> System.out.printf("%s protocol: %d frames, %d payload bytes, %.1f bytes/frame%n",
+				protocol, frames.get(), bytes.get(), frames.get() == 0 ? 0.0 : (double) bytes.get() / frames.get()))
 			.block(Duration.ofSeconds(10L));
 	}
 
+	private WebSocketHandler textHandler(AtomicLong frames, AtomicLong bytes) {
+		return session -> session.send(
+			Mono.just(session.textMessage("A made up name")))
+			.thenMany(session.receive()
+				.doOnNext(message -> count(message, frames, bytes))
+				.map(WebSocketMessage::getPayloadAsText)
+				.log())
+			.then();
+	}
+
+	private WebSocketHandler binaryHandler(AtomicLong frames, AtomicLong bytes) {
+		var decoder = new GreetingFrameDecoder();
+
+		return new WebSocketHandler() {
+
+			@Override
+			public List<String> getSubProtocols() {
+				return List.of(GreetingFrameDecoder.SUBPROTOCOL);
+			}
+
+			@Override
+			public Mono<Void> handle(WebSocketSession session) {
+				return session.send(
+					Mono.just(session.textMessage("A made up name")))
+					.thenMany(session.receive()
+						.doOnNext(message -> count(message, frames, bytes))
+						.<GreetingFrameDecoder.Greeting>handle((message, sink) -> decoder.decode(message.getPayload()).ifPresent(sink::next))
+						.log())
+					.then();
+			}
+		};
+	}
+
+	private void count(WebSocketMessage message, AtomicLong frames, AtomicLong bytes) {
+		frames.incrementAndGet();
+		bytes.addAndGet(message.getPayload().readableByteCount());
+	}
+
 }
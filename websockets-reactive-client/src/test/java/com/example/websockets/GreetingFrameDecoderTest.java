@@ -0,0 +1,47 @@
+package com.example.websockets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+public class GreetingFrameDecoderTest {
+
+	// Written by websockets-reactive's GreetingFrames, see GreetingFramesTest there.
+	private static final Path FIXTURE = Path.of("../websockets-reactive/src/test/resources/greetings.binary.v1.hex");
+
+	private final GreetingFrameDecoder decoder = new GreetingFrameDecoder();
+
+	@Test
+	public void readsTheServerFrames() throws IOException {
+		var frames = fixture();
+
+		assertEquals(Optional.empty(), decode(frames.get(0)));
+		assertEquals(Optional.empty(), decode(frames.get(1)));
+		assertEquals(Optional.of(new GreetingFrameDecoder.Greeting("Jürgen", 1_642_500_000_000L, 42)), decode(frames.get(2)));
+	}
+
+	@Test
+	public void rejectsUnknownFrameTypes() {
+		assertThrows(IllegalArgumentException.class, () -> decode(new byte[] {9, 0, 0, 0, 0}));
+	}
+
+	private Optional<GreetingFrameDecoder.Greeting> decode(byte[] frame) {
+		return decoder.decode(DefaultDataBufferFactory.sharedInstance.wrap(frame));
+	}
+
+	private static List<byte[]> fixture() throws IOException {
+		return Files.readAllLines(FIXTURE).stream()
+			.filter(line -> !line.isBlank() && !line.startsWith("#"))
+			.map(line -> HexFormat.of().parseHex(line.replace(" ", "")))
+			.toList();
+	}
+}
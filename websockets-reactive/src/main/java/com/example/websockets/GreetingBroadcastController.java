@@ -0,0 +1,32 @@
+package com.example.websockets;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/broadcast")
+public class GreetingBroadcastController {
+
+	private final GreetingBroadcastHub hub;
+
+	public GreetingBroadcastController(GreetingBroadcastHub hub) {
+		this.hub = hub;
+	}
+
+	@PostMapping
+	public int broadcast(@RequestBody String text, @RequestParam(required = false) String name) {
+		if (name == null) {
+			return hub.broadcast(text);
+		}
+		return hub.broadcast(text, session -> session.names().contains(name));
+	}
+
+	@GetMapping("/metrics")
+	public GreetingBroadcastHub.Metrics metrics() {
+		return hub.metrics();
+	}
+}
@@ -0,0 +1,89 @@
+package com.example.websockets;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketSession;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Component
+public class GreetingBroadcastHub {
+
+	private final ConcurrentMap<String, GreetingSession> sessions = new ConcurrentHashMap<>();
+	private final int capacity;
+	private final OverflowPolicy policy;
+
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong disconnects = new AtomicLong();
+
+	public GreetingBroadcastHub(@Value("${greetings.outbound.capacity:256}") int capacity,
+								@Value("${greetings.outbound.overflow:drop-oldest}") OverflowPolicy policy) {
+		this.capacity = capacity;
+		this.policy = policy;
+	}
+
+	public GreetingSession register(WebSocketSession session) {
+		var greetingSession = new GreetingSession(session);
+		sessions.put(greetingSession.id(), greetingSession);
+		return greetingSession;
+	}
+
+	public Mono<Void> send(GreetingSession greetingSession, Flux<OutboundMessage> greetings) {
+		var session = greetingSession.session();
+
+		var outbound = Flux.merge(greetings, greetingSession.broadcasts())
+			.doOnNext(message -> greetingSession.onOffered())
+			.transform(messages -> policy.apply(messages, capacity, message -> {
+				greetingSession.onDropped();
+				dropped.incrementAndGet();
+			}))
+			.doOnNext(message -> greetingSession.onDelivered())
+			.concatMapIterable(message -> message.frames(session), 1);
+
+		return session.send(outbound)
+			.onErrorResume(Exceptions::isOverflow, error -> {
+				disconnects.incrementAndGet();
+				return session.close(CloseStatus.SERVICE_OVERLOAD);
+			})
+			.doFinally(signal -> {
+				sessions.remove(greetingSession.id());
+				greetingSession.complete();
+			});
+	}
+
+	public int broadcast(String text) {
+		return broadcast(text, greetingSession -> true);
+	}
+
+	public int broadcast(String text, Predicate<GreetingSession> filter) {
+		var message = OutboundMessage.text(text);
+		int pushed = 0;
+		for (var greetingSession : sessions.values()) {
+			if (filter.test(greetingSession) && greetingSession.push(message)) {
+				pushed++;
+			}
+		}
+		return pushed;
+	}
+
+	public Metrics metrics() {
+		return new Metrics(
+			sessions.size(),
+			sessions.values().stream().mapToLong(GreetingSession::queueDepth).sum(),
+			sessions.values().stream().mapToLong(GreetingSession::queueDepth).max().orElse(0),
+			dropped.get(),
+			disconnects.get());
+	}
+
+	public record Metrics(int sessions, long queueDepth, long maxQueueDepth, long dropped, long disconnects) {
+
+	}
+}
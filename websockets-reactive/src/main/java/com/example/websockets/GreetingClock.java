@@ -0,0 +1,50 @@
+package com.example.websockets;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Flux;
+
+@Component
+public class GreetingClock {
+
+	private final AtomicLong ticks = new AtomicLong();
+	private final AtomicInteger subscribers = new AtomicInteger();
+	private final Flux<Tick> clock;
+
+	public GreetingClock(@Value("${greetings.period:PT1S}") Duration period) {
+		this.clock = Flux.interval(period)
+			.map(sequence -> {
+				ticks.incrementAndGet();
+				var now = Instant.now();
+				return new Tick(sequence, now.toEpochMilli(), now.toString());
+			})
+			.name("greetings.clock")
+			.metrics()
+			.share();
+	}
+
+	public Flux<Tick> ticks() {
+		return clock
+			.onBackpressureLatest()
+			.doOnSubscribe(subscription -> subscribers.incrementAndGet())
+			.doFinally(signal -> subscribers.decrementAndGet());
+	}
+
+	public long tickCount() {
+		return ticks.get();
+	}
+
+	public int subscribers() {
+		return subscribers.get();
+	}
+
+	public record Tick(long sequence, long epochMillis, String timestamp) {
+
+	}
+}
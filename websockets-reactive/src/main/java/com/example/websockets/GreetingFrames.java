@@ -0,0 +1,81 @@
+package com.example.websockets;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+
+class GreetingFrames {
+
+	static final String SUBPROTOCOL = "greetings.binary.v1";
+
+	static final byte NAME = 1;
+	static final byte GREETING = 2;
+
+	static final int GREETING_LENGTH = 1 + Integer.BYTES + Long.BYTES + Long.BYTES;
+
+	private final Map<String, Integer> names = new HashMap<>();
+	private final Set<Integer> announced = new HashSet<>();
+
+	Name intern(String name) {
+		return new Name(names.computeIfAbsent(name, value -> names.size()), name);
+	}
+
+	// The name frame is decided when the greeting is rendered, after the outbound buffer, so an
+	// overflow policy can drop greetings but never the announcement the client needs to read them.
+	OutboundMessage greeting(Name name, GreetingClock.Tick tick) {
+		return new OutboundMessage() {
+
+			@Override
+			public WebSocketMessage render(WebSocketSession session) {
+				return session.binaryMessage(factory -> greeting(factory, name.id(), tick));
+			}
+
+			@Override
+			public List<WebSocketMessage> frames(WebSocketSession session) {
+				if (announced.add(name.id())) {
+					return List.of(session.binaryMessage(factory -> name(factory, name)), render(session));
+				}
+				return List.of(render(session));
+			}
+		};
+	}
+
+	static DataBuffer name(DataBufferFactory factory, Name name) {
+		var bytes = name.value().getBytes(StandardCharsets.UTF_8);
+		var buffer = factory.allocateBuffer(1 + Integer.BYTES + bytes.length).write(NAME);
+		writeInt(buffer, name.id());
+		return buffer.write(bytes);
+	}
+
+	static DataBuffer greeting(DataBufferFactory factory, int nameId, GreetingClock.Tick tick) {
+		var buffer = factory.allocateBuffer(GREETING_LENGTH).write(GREETING);
+		writeInt(buffer, nameId);
+		writeLong(buffer, tick.epochMillis());
+		writeLong(buffer, tick.sequence());
+		return buffer;
+	}
+
+	private static void writeInt(DataBuffer buffer, int value) {
+		for (int shift = 24; shift >= 0; shift -= 8) {
+			buffer.write((byte) (value >>> shift));
+		}
+	}
+
+	private static void writeLong(DataBuffer buffer, long value) {
+		for (int shift = 56; shift >= 0; shift -= 8) {
+			buffer.write((byte) (value >>> shift));
+		}
+	}
+
+	record Name(int id, String value) {
+
+	}
+}
@@ -0,0 +1,42 @@
+package com.example.websockets;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Component
+public class GreetingMetrics implements MeterBinder {
+
+	private final GreetingBroadcastHub hub;
+	private final GreetingClock clock;
+
+	public GreetingMetrics(GreetingBroadcastHub hub, GreetingClock clock) {
+		this.hub = hub;
+		this.clock = clock;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder("greetings.websocket.connections", hub, h -> h.metrics().sessions())
+			.description("Open /ws/greetings sessions")
+			.register(registry);
+		Gauge.builder("greetings.outbound.queue.depth", hub, h -> h.metrics().queueDepth())
+			.tag("aggregate", "sum")
+			.register(registry);
+		Gauge.builder("greetings.outbound.queue.depth", hub, h -> h.metrics().maxQueueDepth())
+			.tag("aggregate", "max")
+			.register(registry);
+		FunctionCounter.builder("greetings.outbound.dropped", hub, h -> h.metrics().dropped())
+			.register(registry);
+		FunctionCounter.builder("greetings.outbound.disconnects", hub, h -> h.metrics().disconnects())
+			.register(registry);
+
+		Gauge.builder("greetings.clock.subscribers", clock, GreetingClock::subscribers)
+			.register(registry);
+		FunctionCounter.builder("greetings.clock.ticks", clock, GreetingClock::tickCount)
+			.register(registry);
+	}
+}
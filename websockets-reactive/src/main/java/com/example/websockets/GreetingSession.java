@@ -0,0 +1,69 @@
+package com.example.websockets;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.web.reactive.socket.WebSocketSession;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+public class GreetingSession {
+
+	private final WebSocketSession session;
+	private final Set<String> names = ConcurrentHashMap.newKeySet();
+	private final Sinks.Many<OutboundMessage> broadcasts = Sinks.many().unicast().onBackpressureBuffer();
+
+	private final AtomicLong offered = new AtomicLong();
+	private final AtomicLong delivered = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+
+	GreetingSession(WebSocketSession session) {
+		this.session = session;
+	}
+
+	public String id() {
+		return session.getId();
+	}
+
+	public Set<String> names() {
+		return names;
+	}
+
+	public long queueDepth() {
+		return offered.get() - delivered.get() - dropped.get();
+	}
+
+	public long dropped() {
+		return dropped.get();
+	}
+
+	WebSocketSession session() {
+		return session;
+	}
+
+	Flux<OutboundMessage> broadcasts() {
+		return broadcasts.asFlux();
+	}
+
+	synchronized boolean push(OutboundMessage message) {
+		return broadcasts.tryEmitNext(message).isSuccess();
+	}
+
+	synchronized void complete() {
+		broadcasts.tryEmitComplete();
+	}
+
+	void onOffered() {
+		offered.incrementAndGet();
+	}
+
+	void onDelivered() {
+		delivered.incrementAndGet();
+	}
+
+	void onDropped() {
+		dropped.incrementAndGet();
+	}
+}
@@ -1,8 +1,6 @@
 package com.example.websockets;
 
-import java.time.Duration;
-import java.time.Instant;
-import java.util.stream.Stream;
+import java.util.List;
 
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.socket.WebSocketHandler;
@@ -15,25 +13,45 @@ import reactor.core.publisher.Mono;
 @Component
 public class GreetingsWebsocketHandler implements WebSocketHandler {
 
+	private final GreetingClock clock;
+	private final GreetingBroadcastHub hub;
+
+	public GreetingsWebsocketHandler(GreetingClock clock, GreetingBroadcastHub hub) {
+		this.clock = clock;
+		this.hub = hub;
+	}
+
+	@Override
+	public List<String> getSubProtocols() {
+		return List.of(GreetingFrames.SUBPROTOCOL);
+	}
+
 	@Override
 	public Mono<Void> handle(WebSocketSession session) {
-		return session.send(
-			session
-				.receive()
-				.map(WebSocketMessage::getPayloadAsText)
-				.map(GreetingsRequest::new)
-				.flatMap(this::greet)
-				.map(GreetingsResponse::name)
-				.map(session::textMessage)
-		);
+		var greetingSession = hub.register(session);
+		var requests = session
+			.receive()
+			.map(WebSocketMessage::getPayloadAsText)
+			.map(GreetingsRequest::new)
+			.doOnNext(request -> greetingSession.names().add(request.name()));
+
+		if (GreetingFrames.SUBPROTOCOL.equals(session.getHandshakeInfo().getSubProtocol())) {
+			var frames = new GreetingFrames();
+			return hub.send(greetingSession, requests
+				.map(request -> frames.intern(request.name()))
+				.flatMap(name -> clock.ticks().map(tick -> frames.greeting(name, tick))));
+		}
+
+		return hub.send(greetingSession, requests
+			.flatMap(this::greet)
+			.map(GreetingsResponse::name)
+			.map(OutboundMessage::text));
 	}
 
 	Flux<GreetingsResponse> greet(GreetingsRequest request) {
+		var greeting = "hello" + request.name() + " @ ";
 
-		return Flux
-			.fromStream(Stream.generate(() -> new GreetingsResponse("hello" + request.name() + " @ " + Instant.now())))
-		.delayElements(Duration.ofSeconds(1));
+		return clock.ticks()
+			.map(tick -> new GreetingsResponse(greeting + tick.timestamp()));
 	}
-
-	
 }
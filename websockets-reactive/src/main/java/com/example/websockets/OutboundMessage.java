@@ -0,0 +1,20 @@
+package com.example.websockets;
+
+import java.util.List;
+
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+
+@FunctionalInterface
+public interface OutboundMessage {
+
+	WebSocketMessage render(WebSocketSession session);
+
+	default List<WebSocketMessage> frames(WebSocketSession session) {
+		return List.of(render(session));
+	}
+
+	static OutboundMessage text(String text) {
+		return session -> session.textMessage(text);
+	}
+}
@@ -0,0 +1,32 @@
+package com.example.websockets;
+
+import java.util.function.Consumer;
+
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+
+public enum OverflowPolicy {
+
+	DROP_OLDEST {
+		@Override
+		<T> Flux<T> apply(Flux<T> outbound, int capacity, Consumer<T> onDrop) {
+			return outbound.onBackpressureBuffer(capacity, onDrop, BufferOverflowStrategy.DROP_OLDEST);
+		}
+	},
+
+	CONFLATE {
+		@Override
+		<T> Flux<T> apply(Flux<T> outbound, int capacity, Consumer<T> onDrop) {
+			return outbound.onBackpressureBuffer(1, onDrop, BufferOverflowStrategy.DROP_OLDEST);
+		}
+	},
+
+	DISCONNECT {
+		@Override
+		<T> Flux<T> apply(Flux<T> outbound, int capacity, Consumer<T> onDrop) {
+			return outbound.onBackpressureBuffer(capacity, onDrop, BufferOverflowStrategy.ERROR);
+		}
+	};
+
+	abstract <T> Flux<T> apply(Flux<T> outbound, int capacity, Consumer<T> onDrop);
+}
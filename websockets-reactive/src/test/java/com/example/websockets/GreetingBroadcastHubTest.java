@@ -0,0 +1,64 @@
+package com.example.websockets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+public class GreetingBroadcastHubTest {
+
+	private final AtomicReference<Publisher<WebSocketMessage>> outbound = new AtomicReference<>();
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void binaryNameSurvivesOverflow() {
+		var session = Mockito.mock(WebSocketSession.class);
+		Mockito.when(session.getId()).thenReturn("s1");
+		Mockito.when(session.binaryMessage(Mockito.any())).thenAnswer(invocation -> {
+			var payload = invocation.<Function<DataBufferFactory, DataBuffer>>getArgument(0)
+				.apply(DefaultDataBufferFactory.sharedInstance);
+			return new WebSocketMessage(WebSocketMessage.Type.BINARY, payload);
+		});
+		Mockito.when(session.send(Mockito.any())).thenAnswer(invocation -> {
+			outbound.set(invocation.getArgument(0));
+			return Mono.never();
+		});
+
+		var hub = new GreetingBroadcastHub(1, OverflowPolicy.CONFLATE);
+		var frames = new GreetingFrames();
+		var name = frames.intern("Maria");
+		Sinks.Many<OutboundMessage> greetings = Sinks.many().unicast().onBackpressureBuffer();
+
+		hub.send(hub.register(session), greetings.asFlux()).subscribe();
+
+		StepVerifier.create(Flux.from(outbound.get()), 0)
+			.then(() -> {
+				for (long sequence = 0; sequence < 10; sequence++) {
+					greetings.tryEmitNext(frames.greeting(name, new GreetingClock.Tick(sequence, sequence, "")));
+				}
+			})
+			.thenRequest(3)
+			.assertNext(message -> assertEquals(GreetingFrames.NAME, message.getPayload().read()))
+			.assertNext(message -> assertEquals(GreetingFrames.GREETING, message.getPayload().read()))
+			.assertNext(message -> assertEquals(GreetingFrames.GREETING, message.getPayload().read()))
+			.thenCancel()
+			.verify();
+
+		assertTrue(hub.metrics().dropped() > 0);
+	}
+}
@@ -0,0 +1,55 @@
+package com.example.websockets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.Disposable;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+public class GreetingClockTest {
+
+	private static final int SUBSCRIBERS = 1_000;
+
+	private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.getOrSet();
+
+	@AfterEach
+	public void tearDown() {
+		VirtualTimeScheduler.reset();
+	}
+
+	@Test
+	public void subscribersShareOneUpstreamTimer() {
+		var clock = new GreetingClock(Duration.ofSeconds(1));
+		var received = new ArrayList<List<Long>>();
+		var subscriptions = IntStream.range(0, SUBSCRIBERS)
+			.mapToObj(i -> {
+				var sequences = new ArrayList<Long>();
+				received.add(sequences);
+				return clock.ticks().subscribe(tick -> sequences.add(tick.sequence()));
+			})
+			.toList();
+
+		scheduler.advanceTimeBy(Duration.ofSeconds(5));
+
+		// The upstream map runs once per tick, not once per tick and subscriber.
+		assertEquals(5, clock.tickCount());
+		assertEquals(SUBSCRIBERS, clock.subscribers());
+		var expected = LongStream.range(0, 5).boxed().toList();
+		received.forEach(sequences -> assertEquals(expected, sequences));
+
+		subscriptions.forEach(Disposable::dispose);
+		scheduler.advanceTimeBy(Duration.ofSeconds(5));
+
+		// The timer stops with the last subscriber.
+		assertEquals(0, clock.subscribers());
+		assertEquals(5, clock.tickCount());
+	}
+}
@@ -0,0 +1,60 @@
+package com.example.websockets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+public class GreetingFramesTest {
+
+	private final GreetingFrames frames = new GreetingFrames();
+	private final DefaultDataBufferFactory factory = DefaultDataBufferFactory.sharedInstance;
+
+	@Test
+	public void writesTheSubprotocolFixture() throws IOException {
+		var maria = frames.intern("Maria");
+		var jurgen = frames.intern("Jürgen");
+		var tick = new GreetingClock.Tick(42, 1_642_500_000_000L, "2022-01-18T10:00:00Z");
+
+		var written = List.of(
+			GreetingFrames.name(factory, maria),
+			GreetingFrames.name(factory, jurgen),
+			GreetingFrames.greeting(factory, jurgen.id(), tick));
+
+		var fixture = fixture();
+		assertEquals(fixture.size(), written.size());
+		for (int i = 0; i < fixture.size(); i++) {
+			assertArrayEquals(fixture.get(i), bytes(written.get(i)), "frame " + i);
+		}
+		assertEquals(GreetingFrames.GREETING_LENGTH, fixture.get(2).length);
+	}
+
+	@Test
+	public void internKeepsOneIdPerName() {
+		assertEquals(frames.intern("Maria"), frames.intern("Maria"));
+		assertEquals(1, frames.intern("Jürgen").id());
+	}
+
+	static List<byte[]> fixture() throws IOException {
+		try (InputStream in = GreetingFramesTest.class.getResourceAsStream("/greetings.binary.v1.hex")) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()
+				.filter(line -> !line.isBlank() && !line.startsWith("#"))
+				.map(line -> HexFormat.of().parseHex(line.replace(" ", "")))
+				.toList();
+		}
+	}
+
+	private static byte[] bytes(DataBuffer buffer) {
+		var bytes = new byte[buffer.readableByteCount()];
+		buffer.read(bytes);
+		return bytes;
+	}
+}